@@ -23,5 +23,6 @@ reschedule,
 completed,
 show,
 removeoverdue,
-reopen
+reopen,
+report
 }
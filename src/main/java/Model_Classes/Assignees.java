@@ -0,0 +1,56 @@
+package Model_Classes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A dictionary of the names of the assignees of tasks.
+ * Each distinct name is stored once and referred to by a small int, so tasks assigned to the same person
+ * share one String and can be compared by assignee with an int comparison.
+ * IDs are only valid while RoomShare is running and are never written to storage as they are.
+ */
+public class Assignees {
+    public static final String EVERYONE_NAME = "everyone";
+    private static final List<String> names = new CopyOnWriteArrayList<>();
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    public static final int EVERYONE = idOf(EVERYONE_NAME);
+    public static final int UNKNOWN = -1;
+
+    /**
+     * Returns the ID of a name, adding the name to the dictionary if it is not in it yet.
+     * @param name name of the assignee
+     * @return the ID of the name
+     */
+    public static int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (names) {
+            return ids.computeIfAbsent(name, newName -> {
+                names.add(newName);
+                return names.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Returns the ID of a name without adding the name to the dictionary.
+     * @param name name of the assignee
+     * @return the ID of the name, or UNKNOWN if no task has ever been assigned to the name
+     */
+    public static int find(String name) {
+        return ids.getOrDefault(name, UNKNOWN);
+    }
+
+    /**
+     * Returns the name with an ID.
+     * @param id ID of the name
+     * @return the name
+     */
+    public static String nameOf(int id) {
+        return names.get(id);
+    }
+}
@@ -3,6 +3,7 @@ package Model_Classes;
 import CustomExceptions.RoomShareException;
 import Enums.ExceptionType;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
@@ -16,6 +17,7 @@ import java.util.Date;
 public class Assignment extends Task {
 
     private ArrayList<String> subTasks = new ArrayList<String>();
+    private byte[] encodedSubTasks;
 
     /**
      * Constructor for the Assignment object.
@@ -32,6 +34,7 @@ public class Assignment extends Task {
      * @param addList array list containing subtasks
      */
     public void addSubTasks(ArrayList<String> addList) {
+        decodeSubTasks();
         for (String output : addList) {
             subTasks.add(output);
         }
@@ -42,23 +45,60 @@ public class Assignment extends Task {
      * @param subTasks string containing subtasks
      */
     public void addSubTasks(String subTasks) {
+        this.encodedSubTasks = null;
         this.subTasks = new ArrayList<>(Arrays.asList(subTasks.trim().split(",")));
     }
 
+    /**
+     * Sets the subtasks of the assignment from their stored UTF-8 form, in which each subtask is followed by ",".
+     * The subtasks are only decoded the first time they are accessed.
+     * @param encodedSubTasks stored subtasks
+     */
+    public void setEncodedSubTasks(byte[] encodedSubTasks) {
+        this.encodedSubTasks = encodedSubTasks;
+        this.subTasks = null;
+    }
+
     /**
      * Returns the ArrayList containing the Assignment's subtasks.
      * @return ArrayList of subtasks as Strings
      */
     public ArrayList<String> getSubTasks() {
+        decodeSubTasks();
         return subTasks;
     }
 
+    /**
+     * Returns the subtasks in their stored form, with each subtask followed by ",".
+     * Subtasks that have not been decoded yet are returned as they were stored, without splitting them.
+     * @return the stored form of the subtasks
+     */
+    public String getSubTaskField() {
+        int length = encodedSubTasks == null ? 0 : encodedSubTasks.length;
+        if (length >= 2 && encodedSubTasks[length - 1] == ',' && encodedSubTasks[length - 2] != ',') {
+            // splitting and joining again would give back the same bytes
+            return new String(encodedSubTasks, StandardCharsets.UTF_8);
+        }
+        StringBuilder field = new StringBuilder();
+        for (String subTask : getSubTasks()) {
+            field.append(subTask).append(",");
+        }
+        return field.toString();
+    }
+
+    private void decodeSubTasks() {
+        if (encodedSubTasks != null) {
+            addSubTasks(new String(encodedSubTasks, StandardCharsets.UTF_8));
+        }
+    }
+
     /**
      * Removes completed Subtask.
      * @param index index of completed subtask
      * @throws RoomShareException when there is no subtask at that index
      */
     public void doneSubtask(int index) throws RoomShareException {
+        decodeSubTasks();
         try {
             subTasks.remove(index);
         } catch (IndexOutOfBoundsException a) {
@@ -10,7 +10,7 @@ import java.util.Date;
 public class Leave extends Task {
     private Date from;
     private Date to;
-    private String user;
+    private int userId;
 
     /**
      * constructor for the leave class.
@@ -21,7 +21,7 @@ public class Leave extends Task {
      */
     public Leave(String description, String user, Date from, Date to) {
         super(description, from);
-        this.user = user;
+        this.userId = Assignees.idOf(user);
         this.from = from;
         this.to = to;
     }
@@ -64,7 +64,16 @@ public class Leave extends Task {
      */
     @Override
     public String getAssignee() {
-        return this.user;
+        return Assignees.nameOf(userId);
+    }
+
+    /**
+     * gets the ID of the user who is being assigned to the leave.
+     * @return ID of the user in the dictionary of assignees
+     */
+    @Override
+    public int getAssigneeId() {
+        return userId;
     }
 
     /**
@@ -73,7 +82,7 @@ public class Leave extends Task {
      */
     @Override
     public String toString() {
-        return "[L] " + super.getDescription() + " (" + user + ")" + " (From: " + from + " To: " + to + ")";
+        return "[L] " + super.getDescription() + " (" + getAssignee() + ")" + " (From: " + from + " To: " + to + ")";
     }
 
     /**
@@ -81,6 +90,6 @@ public class Leave extends Task {
      * @param user name of user for the leave
      */
     public void setUser(String user) {
-        this.user = user;
+        this.userId = Assignees.idOf(user);
     }
 }
\ No newline at end of file
@@ -6,16 +6,19 @@ import Enums.Priority;
 import Enums.RecurrenceScheduleType;
 
 import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Parent class for all other types of tasks.
  */
 public abstract class Task{
+    private long id;
+    private long rank;
     private String description;
     private boolean isDone;
     private Date date;
     private Priority priority;
-    private String assignee;
+    private int assigneeId;
     private RecurrenceScheduleType recurrenceSchedule;
     private boolean hasRecurring;
     private boolean isOverdue;
@@ -26,15 +29,58 @@ public abstract class Task{
      */
     public Task(String description, Date date) {
 
+        this.id = newId();
         this.description = description;
         this.isDone = false;
         this.isOverdue = false;
         this.priority = Priority.low;
         this.date = date;
-        this.assignee = "everyone";
+        this.assigneeId = Assignees.EVERYONE;
         this.recurrenceSchedule = RecurrenceScheduleType.none;
     }
 
+    /**
+     * Returns a new random 64-bit task ID.
+     * IDs are random so that tasks created in different runs or lists do not need to coordinate.
+     * @return a new task ID
+     */
+    public static long newId() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Returns the ID of the task, which stays the same for the lifetime of the task.
+     * @return id ID of the task
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the task, for a task that is read back from storage.
+     * @param id ID of the task
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the rank of the task in the task list, which orders tasks that are equal in a sort mode.
+     * Ranks follow the order the tasks are stored in.
+     * @return rank of the task
+     */
+    public long getRank() {
+        return rank;
+    }
+
+    /**
+     * Sets the rank of the task in the task list.
+     * @param rank rank of the task
+     */
+    public void setRank(long rank) {
+        this.rank = rank;
+    }
+
     /**
      * Returns the description of the task.
      * @return description Description of the task
@@ -97,7 +143,15 @@ public abstract class Task{
      * @return name of the user
      */
     public String getAssignee() {
-        return this.assignee;
+        return Assignees.nameOf(getAssigneeId());
+    }
+
+    /**
+     * Returns the ID of the assignee in the dictionary of assignees.
+     * @return ID of the assignee
+     */
+    public int getAssigneeId() {
+        return this.assigneeId;
     }
 
     /**
@@ -105,7 +159,7 @@ public abstract class Task{
      * @param assignee name of the assignee
      */
     public void setAssignee(String assignee) {
-        this.assignee = assignee;
+        this.assigneeId = Assignees.idOf(assignee);
     }
 
     /**
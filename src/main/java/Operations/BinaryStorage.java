@@ -0,0 +1,260 @@
+package Operations;
+
+import CustomExceptions.RoomShareException;
+import Enums.ExceptionType;
+import Enums.Priority;
+import Enums.RecurrenceScheduleType;
+import Enums.SaveType;
+import Enums.TimeUnit;
+import Model_Classes.Assignees;
+import Model_Classes.Assignment;
+import Model_Classes.Leave;
+import Model_Classes.Meeting;
+import Model_Classes.Task;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Performs storage operations on a compact binary snapshot of the task list.
+ * The snapshot starts with a header holding a magic number, the schema version and the record count,
+ * followed by a dictionary holding each assignee name once, and one record per task with its task ID,
+ * length-prefixed strings, epoch-millisecond dates, enum ordinals and the index of its assignee in the dictionary.
+ * Snapshots of version 1, written before task IDs were stored, and of version 2, written before the
+ * dictionary was introduced, are still read.
+ */
+public class BinaryStorage extends Storage {
+    private static final int MAGIC = 0x52534842;
+    private static final int VERSION = 3;
+    private static final int VERSION_WITHOUT_DICTIONARY = 2;
+    private static final int VERSION_WITHOUT_IDS = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final SaveType[] SAVE_TYPES = SaveType.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final RecurrenceScheduleType[] RECURRENCES = RecurrenceScheduleType.values();
+    private static final TimeUnit[] TIME_UNITS = TimeUnit.values();
+
+    /**
+     * Constructor for the BinaryStorage class.
+     */
+    public BinaryStorage() {
+        super(false);
+    }
+
+    /**
+     * Loads the tasks of a single generation of a binary snapshot file.
+     *
+     * @param path path of the generation to be read
+     * @param fileName name of the binary snapshot file that the generation belongs to
+     * @param consumer consumer of the loaded tasks
+     * @throws RoomShareException If the snapshot has an unknown version or is truncated.
+     */
+    @Override
+    protected void readSnapshot(String path, String fileName, Consumer<Task> consumer) throws RoomShareException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(path), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new RoomShareException(ExceptionType.loadError);
+            }
+            int version = in.readInt();
+            if (version < VERSION_WITHOUT_IDS || version > VERSION) {
+                throw new RoomShareException(ExceptionType.loadError);
+            }
+            String[] dictionary = null;
+            if (version == VERSION) {
+                dictionary = new String[in.readInt()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = in.readUTF();
+                }
+            }
+            int recordCount = in.readInt();
+            for (int i = 0; i < recordCount; i++) {
+                long id = version == VERSION_WITHOUT_IDS ? Task.newId() : in.readLong();
+                Task task = readTask(in, dictionary);
+                task.setId(id);
+                consumer.accept(task);
+            }
+        } catch (EOFException | IndexOutOfBoundsException e) {
+            throw new RoomShareException(ExceptionType.loadError);
+        } catch (IOException e) {
+            throw new RoomShareException(ExceptionType.wrongFormat);
+        }
+    }
+
+    /**
+     * Rewrites the binary snapshot file with a task list.
+     * The snapshot is written to a temporary file first. Once the temporary file is on disk it replaces the file,
+     * which is kept as the previous generation.
+     *
+     * @param list ArrayList of Tasks to be stored
+     * @param fileName name of the binary snapshot file
+     * @throws RoomShareException If there is an error in writing the file.
+     */
+    @Override
+    public void writeFile(ArrayList<Task> list, String fileName) throws RoomShareException {
+        File temp = new File(fileName + TEMP_EXTENSION);
+        try {
+            FileOutputStream fileOutputStream = new FileOutputStream(temp);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutputStream, BUFFER_SIZE));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            // index of each assignee in the dictionary of the snapshot, by assignee ID
+            HashMap<Integer, Integer> dictionary = new HashMap<>();
+            for (Task task : list) {
+                dictionary.putIfAbsent(task.getAssigneeId(), dictionary.size());
+            }
+            String[] names = new String[dictionary.size()];
+            for (Map.Entry<Integer, Integer> entry : dictionary.entrySet()) {
+                names[entry.getValue()] = Assignees.nameOf(entry.getKey());
+            }
+            out.writeInt(names.length);
+            for (String name : names) {
+                out.writeUTF(name);
+            }
+            out.writeInt(list.size());
+            for (Task task : list) {
+                writeTask(out, task, dictionary);
+            }
+            out.flush();
+            fileOutputStream.getChannel().force(true);
+            out.close();
+            replaceFile(temp, fileName);
+        } catch (IOException e) {
+            throw new RoomShareException(ExceptionType.writeError);
+        }
+    }
+
+    /**
+     * Rewrites the binary snapshot file with a snapshot of a task list taken by {@link #snapshot}.
+     *
+     * @param snapshot the snapshot
+     * @param fileName name of the binary snapshot file
+     * @throws RoomShareException If there is an error in writing the file.
+     */
+    @Override
+    protected void writeText(ListSnapshot snapshot, String fileName) throws RoomShareException {
+        writeFile(parseSnapshot(snapshot), fileName);
+    }
+
+    /**
+     * Converts a text data file into a binary snapshot file.
+     *
+     * @param textFileName name of the text data file to be read
+     * @param fileName name of the binary snapshot file to be written
+     * @throws RoomShareException If either file cannot be read or written.
+     */
+    public void importTextFile(String textFileName, String fileName) throws RoomShareException {
+        writeFile(new Storage().loadFile(textFileName), fileName);
+    }
+
+    /**
+     * Converts a binary snapshot file into a text data file.
+     *
+     * @param fileName name of the binary snapshot file to be read
+     * @param textFileName name of the text data file to be written
+     * @throws RoomShareException If either file cannot be read or written.
+     */
+    public void exportTextFile(String fileName, String textFileName) throws RoomShareException {
+        new Storage().writeFile(loadFile(fileName), textFileName);
+    }
+
+    /**
+     * Writes a single task as a record of the snapshot.
+     *
+     * @param out stream of the snapshot
+     * @param task task to be written
+     * @param dictionary index of each assignee in the dictionary of the snapshot, by assignee ID
+     * @throws IOException If there is an error in writing the record.
+     */
+    private void writeTask(DataOutputStream out, Task task, HashMap<Integer, Integer> dictionary)
+            throws IOException {
+        SaveType type;
+        if (task instanceof Assignment) {
+            type = SaveType.A;
+        } else if (task instanceof Leave) {
+            type = SaveType.L;
+        } else {
+            type = SaveType.empty;
+        }
+        out.writeLong(task.getId());
+        out.writeByte(type.ordinal());
+        out.writeBoolean(task.getDone());
+        out.writeByte(task.getPriority().ordinal());
+        out.writeUTF(task.getDescription());
+        out.writeByte(task.getRecurrenceSchedule().ordinal());
+        out.writeInt(dictionary.get(task.getAssigneeId()));
+        if (task instanceof Leave) {
+            out.writeLong(((Leave) task).getStartDate().getTime());
+            out.writeLong(((Leave) task).getEndDate().getTime());
+        } else {
+            out.writeLong(task.getDate().getTime());
+        }
+        if (task instanceof Meeting) {
+            out.writeInt(Integer.parseInt(((Meeting) task).getDuration()));
+            out.writeByte(((Meeting) task).getTimeUnit().ordinal());
+        } else if (task instanceof Assignment) {
+            ArrayList<String> subTasks = ((Assignment) task).getSubTasks();
+            out.writeInt(subTasks.size());
+            for (String subTask : subTasks) {
+                out.writeUTF(subTask);
+            }
+        }
+    }
+
+    /**
+     * Reads a single task from a record of the snapshot.
+     *
+     * @param in stream of the snapshot
+     * @param dictionary assignee names of the snapshot, or null if the records hold the names themselves
+     * @return the task described by the record
+     * @throws IOException If there is an error in reading the record.
+     * @throws RoomShareException If the record holds an invalid state.
+     */
+    private Task readTask(DataInputStream in, String[] dictionary) throws IOException, RoomShareException {
+        SaveType type = SAVE_TYPES[in.readByte()];
+        boolean done = in.readBoolean();
+        Priority priority = PRIORITIES[in.readByte()];
+        String description = in.readUTF();
+        RecurrenceScheduleType recurrence = RECURRENCES[in.readByte()];
+        String user = dictionary == null ? in.readUTF() : dictionary[in.readInt()];
+        Task task;
+        if (type.equals(SaveType.L)) {
+            Date from = new Date(in.readLong());
+            Date to = new Date(in.readLong());
+            task = new Leave(description, user, from, to);
+        } else if (type.equals(SaveType.A)) {
+            Assignment assignment = new Assignment(description, new Date(in.readLong()));
+            int subTaskCount = in.readInt();
+            ArrayList<String> subTasks = new ArrayList<>(subTaskCount);
+            for (int i = 0; i < subTaskCount; i++) {
+                subTasks.add(in.readUTF());
+            }
+            assignment.addSubTasks(subTasks);
+            task = assignment;
+        } else {
+            Date date = new Date(in.readLong());
+            int duration = in.readInt();
+            TimeUnit unit = TIME_UNITS[in.readByte()];
+            task = new Meeting(description, date, duration, unit);
+        }
+        task.setPriority(priority);
+        task.setRecurrenceSchedule(recurrence);
+        if (!(task instanceof Leave)) {
+            task.setAssignee(user);
+            task.setDone(done);
+        }
+        return task;
+    }
+}
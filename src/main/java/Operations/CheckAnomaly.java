@@ -1,202 +1,178 @@
 package Operations;
 
-import Enums.TimeUnit;
+import Model_Classes.Assignees;
+import Model_Classes.Leave;
 import Model_Classes.Meeting;
 import Model_Classes.Task;
 
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
- * This class checks if there are clashes in timings for meetings.
+ * This class checks if there are clashes in timings for meetings, and for duplicate tasks.
  */
 public class CheckAnomaly {
 
     /**
-     * Checks for tasks with the same description when adding a new task.
+     * Checks for tasks with the same type, description, assignee and date when adding a new task.
+     * The duplicate is found from an index of the tasks by these fields, kept alongside the task list,
+     * and its index from a binary search of the current sort view.
      * @param task task we are checking
      * @return current index if duplicate detected and -1 if no duplicate detected
      */
     public static int checkDuplicate(Task task) {
-        String name = task.getDescription();
-        String assignee = task.getAssignee();
-        String date = task.getDate().toString();
-        for (int i = 0; i < TaskList.currentList().size(); i++) {
-            if (TaskList.currentList().get(i).getDescription().equals(name)
-                    && TaskList.currentList().get(i).getAssignee().equals(assignee)
-                    && TaskList.currentList().get(i).getDate().toString().equals(date)
-                    && TaskList.currentList().get(i).getClass().equals(task.getClass())) {
-                return i;
-            }
+        Task duplicate = findDuplicate(task);
+        if (duplicate != null) {
+            return TaskList.indexOf(duplicate);
         }
         return -1;
     }
 
+    /**
+     * Finds a task with the same type, description, assignee and date, from an index of the tasks by these fields.
+     * Whether there is a duplicate does not depend on the current sort view, which is only searched
+     * for the index of the duplicate when it is shown.
+     * @param task task we are checking
+     * @return the duplicate added to the list first, or null if there is no duplicate
+     */
+    public static Task findDuplicate(Task task) {
+        return TaskList.findDuplicate(task);
+    }
+
     /**
      * Checks for tasks in the overdue list for duplicates.
      * @param task task to be checked
      * @return true if duplicate found in overdue list
      */
     public static Boolean checkDuplicateOverdue(Task task) {
-        String name = task.getDescription();
-        String assignee = task.getAssignee();
-        String date = task.getDate().toString();
-        ArrayList<Task> temp = OverdueList.getOverdueList();
-        for (Task value : temp) {
-            if (value.getDescription().equals(name)
-                    && value.getAssignee().equals(assignee)
-                    && value.getDate().toString().equals(date)
-                    && value.getClass().equals(task.getClass())) {
-                return true;
-            }
-        }
-        return false;
+        return OverdueList.contains(task);
     }
 
     /**
-     * Checks time clashes in RoomShare for meetings.
-     * Checks first if the task is a meeting, then decides which check function
-     * to use depending on whether the meeting has a fixed duration.
+     * Checks time clashes in RoomShare for meetings, with the meetings and leaves of the same assignee.
+     * The clashing task is found from an index of the times of the tasks of each assignee,
+     * kept alongside the task list, and its index from a binary search of the current sort view.
      * @param task task we are checking
      * @return current index if there is a time clash, -1 if there is no clash.
      */
     public static int checkTimeClash(Task task) {
-        if (task instanceof Meeting) {
-            if (((Meeting) task).isFixedDuration()) {
-                return checkTimeDuration(task);
-            } else {
-                return checkTime(task);
-            }
+        Task clash = findTimeClash(task);
+        if (clash != null) {
+            return TaskList.indexOf(clash);
         }
         return -1;
     }
 
     /**
-     * Checks if the Meeting with fixed duration task has any clashes with any other meetings in the task list.
+     * Finds the task a meeting clashes with, from an index of the times of the tasks of each assignee.
+     * Whether there is a clash does not depend on the current sort view, which is only searched
+     * for the index of the clashing task when it is shown.
      * @param task task we are checking
-     * @return current index if there are time clashes, -1 if there are no time clashes.
+     * @return the earliest clashing task, or null if there is no clash or the task is not a meeting
      */
-    private static int checkTimeDuration(Task task) {
-        ArrayList<Task> curr = TaskList.currentList();
-        for (int i = 0; i < TaskList.currentList().size(); i++) {
-            if (curr.get(i) instanceof Meeting) {
-                if (((Meeting) curr.get(i)).isFixedDuration() && checkOverlap(curr.get(i), task)) {
-                    return i;
-                } else if (!(((Meeting) curr.get(i)).isFixedDuration())
-                        && checkIntersect(curr.get(i).getDate(), task)) {
-                    return i;
-                }
-            }
+    public static Task findTimeClash(Task task) {
+        if (task instanceof Meeting) {
+            return TaskList.findClash((Meeting) task);
         }
-        return -1;
+        return null;
     }
 
     /**
-     * Checks if the Meeting with no fixed duration has any clashes with any other tasks in the task list.
-     * @param task task we are checking for time clashes
-     * @return current index if there are time clashes, -1 if there are no time clashes.
+     * Checks the whole schedule for clashes, for a report of its health.
+     * The meetings and leaves are swept through in the order they start in, keeping the tasks that can still
+     * clash by assignee, so each task is only compared to the tasks it clashes with and to the tasks that have
+     * just ended. Tasks clash by the same rule as in {@link #checkTimeClash(Task)}, if their times clash and
+     * they are assigned to the same person, or if either is assigned to everyone.
+     * Takes O(n log n + k + e * a) time for n tasks, k clashes, e tasks assigned to everyone and a assignees,
+     * as each task assigned to everyone is checked against the tasks of every assignee, and is added to
+     * the busy periods of every assignee.
+     * @param tasks the tasks to be checked
+     * @return every pair of clashing tasks and the periods each assignee is busy for, by assignee
      */
-    private static int checkTime(Task task){
-        Date at = task.getDate();
-        ArrayList<Task> curr = TaskList.currentList();
-        // Goes down list of Tasks
-        for (int i = 0; i < TaskList.currentList().size(); i++) {
-            // If task is a meeting, checks if it has a fixed duration
-            if (curr.get(i) instanceof Meeting) {
-                long check1 = curr.get(i).getDate().getTime() / 10000 * 10000;
-                long check2 = at.getTime() / 10000 * 10000;
-                if (((Meeting) curr.get(i)).isFixedDuration()) {
-                    if (checkIntersect(at, curr.get(i))) {
-                        return i;
+    public static ScheduleReport checkSchedule(ArrayList<Task> tasks) {
+        ArrayList<Period> periods = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task instanceof Meeting || task instanceof Leave) {
+                periods.add(new Period(task));
+            }
+        }
+        periods.sort(Comparator.comparingLong((Period period) -> period.start).thenComparingLong(period -> period.end));
+        ScheduleReport report = new ScheduleReport();
+        HashMap<Integer, ArrayList<Period>> active = new HashMap<>();
+        HashMap<Integer, ArrayList<Period>> byAssignee = new HashMap<>();
+        for (Period period : periods) {
+            int assigneeId = period.task.getAssigneeId();
+            if (assigneeId == Assignees.EVERYONE) {
+                Iterator<Map.Entry<Integer, ArrayList<Period>>> iterator = active.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<Integer, ArrayList<Period>> entry = iterator.next();
+                    addClashes(report, Assignees.nameOf(entry.getKey()), entry.getValue(), period);
+                    if (entry.getValue().isEmpty()) {
+                        iterator.remove();
                     }
-                } else if (check1 == check2) {
-                    return i;
                 }
+            } else {
+                String assignee = Assignees.nameOf(assigneeId);
+                addClashes(report, assignee, active.getOrDefault(assigneeId, new ArrayList<>()), period);
+                addClashes(report, assignee, active.getOrDefault(Assignees.EVERYONE, new ArrayList<>()), period);
             }
+            active.computeIfAbsent(assigneeId, id -> new ArrayList<>()).add(period);
+            byAssignee.computeIfAbsent(assigneeId, id -> new ArrayList<>()).add(period);
         }
-        return -1;
-    }
-
-    /**
-     * Checks if a timing clashes with the duration of another meeting.
-     * @param time Timing we are checking.
-     * @param task task we are checking.
-     * @return True if the two timings clash and False if there is no clash.
-     */
-    private static Boolean checkIntersect(Date time, Task task) {
-        Date rangeTime = task.getDate();
-        if (rangeTime.getYear() == time.getYear()
-                && rangeTime.getMonth() == time.getMonth()
-                && rangeTime.getDay() == time.getDay()) {
-            long meetingTime = task.getDate().getTime();
-            long currTime = time.getTime();
-            long duration;
-            if (task instanceof Meeting) {
-                duration = timeToMilSeconds(Long.parseLong(((Meeting) task).getDuration()),
-                        ((Meeting) task).getTimeUnit());
-            } else {
-                // task is a Leave
-                duration = timeToMilSeconds(Long.parseLong(((Meeting) task).getDuration()),
-                        ((Meeting) task).getTimeUnit());
+        ArrayList<Period> everyone = byAssignee.getOrDefault(Assignees.EVERYONE, new ArrayList<>());
+        for (Map.Entry<Integer, ArrayList<Period>> entry : byAssignee.entrySet()) {
+            String assignee = Assignees.nameOf(entry.getKey());
+            ArrayList<Period> own = entry.getKey() == Assignees.EVERYONE ? new ArrayList<>() : entry.getValue();
+            // both lists are in the order they start in, so they are merged rather than sorted again
+            int i = 0;
+            int j = 0;
+            while (i < own.size() || j < everyone.size()) {
+                Period next;
+                if (j >= everyone.size() || (i < own.size() && own.get(i).start <= everyone.get(j).start)) {
+                    next = own.get(i++);
+                } else {
+                    next = everyone.get(j++);
+                }
+                report.addBusy(assignee, next.start, next.end);
             }
-            return currTime < meetingTime + duration && currTime >= meetingTime;
         }
-        return false;
+        return report;
     }
 
     /**
-     * Checks if the timings of two Meetings overlap.
-     * @param first First task input.
-     * @param second Second task input.
-     * @return True if there is an overlap and false if there is no overlap.
+     * Adds the clashes of a task with the tasks that can still clash when it starts to a report,
+     * and drops the tasks that can no longer clash.
+     * @param report the report
+     * @param assignee the assignee the tasks clash for
+     * @param active the tasks that have started before the task, and may still clash
+     * @param period the task and the period it takes up
      */
-    private static Boolean checkOverlap(Task first, Task second) {
-        Date date1 = first.getDate();
-        Date date2 = second.getDate();
-        if (date1.getYear() == date2.getYear()
-                && date1.getMonth() == date2.getMonth()
-                && date1.getDay() == date2.getDay()) {
-            long duration1;
-            long duration2;
-            if (first instanceof Meeting) {
-                duration1 = timeToMilSeconds(Integer.parseInt(((Meeting) first).getDuration()),
-                        ((Meeting) first).getTimeUnit());
-            } else {
-                // task is a leave
-                duration1 = timeToMilSeconds(Integer.parseInt(((Meeting) first).getDuration()),
-                        ((Meeting) first).getTimeUnit());
+    private static void addClashes(ScheduleReport report, String assignee, ArrayList<Period> active, Period period) {
+        active.removeIf(other -> other.end <= period.start);
+        for (Period other : active) {
+            if (other.times.clashesWith(period.times)) {
+                report.addClash(assignee, other.task, period.task);
             }
-            if (second instanceof Meeting) {
-                duration2 = timeToMilSeconds(Integer.parseInt(((Meeting) first).getDuration()),
-                        ((Meeting) first).getTimeUnit());
-            } else {
-                // task is a leave
-                duration2 = timeToMilSeconds(Integer.parseInt(((Meeting) first).getDuration()),
-                        ((Meeting) first).getTimeUnit());
-            }
-            long time1 = date1.getTime();
-            long time2 = date2.getTime();
-            return (time1 < time2 + duration2 && time1 >= time2) || (time2 < time1 + duration1 && time2 >= time1);
         }
-        return false;
     }
 
     /**
-     * Converts time to milliseconds.
-     * @param duration duration of the Meeting.
-     * @param unit unit the duration of the Meeting is in.
-     * @return duration of Meeting in milliseconds.
+     * A task with its times, and the period it takes up in milliseconds since the epoch.
      */
-    private static long timeToMilSeconds(long duration, TimeUnit unit) {
-        switch (unit) {
-        case day:
-            return duration * 60 * 60 * 24 * 1000;
-        case hours:
-            return duration * 60 * 60 * 1000;
-        case minutes:
-            return  duration * 60 * 1000;
-        default:
-            return duration;
+    private static class Period {
+        private Task task;
+        private ClashIndex.Entry times;
+        private long start;
+        private long end;
+
+        private Period(Task task) {
+            this.task = task;
+            times = new ClashIndex.Entry(task);
+            start = times.getStart();
+            end = times.getReach();
         }
     }
 }
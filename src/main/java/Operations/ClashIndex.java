@@ -0,0 +1,281 @@
+package Operations;
+
+import Enums.TimeUnit;
+import Model_Classes.Assignees;
+import Model_Classes.Leave;
+import Model_Classes.Meeting;
+import Model_Classes.Task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An index of the times of the meetings and leaves in the task list, used to find the tasks a meeting clashes with.
+ * Each assignee has an index of their own, so a meeting is only checked against the tasks of its assignee and
+ * the tasks assigned to everyone, unless it is assigned to everyone itself.
+ * Meetings with a fixed duration and leaves are kept as [start, end) ranges in an interval tree, and meetings
+ * without a duration are kept by their start time in a sorted map. The times of a task are read once,
+ * when it is indexed. Once built, the index is kept up to date as tasks are added, removed and updated,
+ * and it is only built again from the task list after it has been invalidated.
+ */
+class ClashIndex {
+    private static final long INSTANT_PRECISION = 10000;
+    private HashMap<Integer, Schedule> schedules = new HashMap<>();
+    private IdentityHashMap<Task, Entry> entries = new IdentityHashMap<>();
+    private boolean isValid = false;
+
+    /**
+     * Returns the earliest meeting or leave of the task list that clashes with a meeting.
+     * A meeting clashes with the tasks of its assignee and the tasks assigned to everyone, or with the tasks of
+     * every assignee if it is assigned to everyone. A meeting with a fixed duration clashes with the tasks whose
+     * periods overlap its own, and with the meetings without a duration that start during it. A meeting without
+     * a duration clashes with the tasks whose periods it starts during, and with the meetings without a duration
+     * starting within the same ten seconds.
+     * @param tasks the tasks in the order they are stored in, to build the index from if it has been invalidated
+     * @param meeting the meeting to be checked
+     * @return the earliest clashing task, or null if there is none
+     */
+    Task findClash(ArrayList<Task> tasks, Meeting meeting) {
+        build(tasks);
+        Entry entry = new Entry(meeting);
+        ArrayList<Task> clashes = new ArrayList<>();
+        if (entry.assigneeId == Assignees.EVERYONE) {
+            for (Schedule schedule : schedules.values()) {
+                schedule.findClashes(entry, clashes);
+            }
+        } else {
+            for (int assigneeId : new int[] {entry.assigneeId, Assignees.EVERYONE}) {
+                Schedule schedule = schedules.get(assigneeId);
+                if (schedule != null) {
+                    schedule.findClashes(entry, clashes);
+                }
+            }
+        }
+        Task earliest = null;
+        for (Task clash : clashes) {
+            if (clash != meeting && (earliest == null || clash.getDate().getTime() < earliest.getDate().getTime())) {
+                earliest = clash;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Marks the index as out of date, so it is built again the next time it is searched.
+     */
+    void invalidate() {
+        isValid = false;
+        schedules.clear();
+        entries.clear();
+    }
+
+    /**
+     * Adds a new task to the index of its assignee, if it is a meeting or a leave.
+     * @param task the task to be added
+     */
+    void add(Task task) {
+        if (!isValid || !(task instanceof Meeting || task instanceof Leave)) {
+            return;
+        }
+        Entry entry = new Entry(task);
+        schedules.computeIfAbsent(entry.assigneeId, assigneeId -> new Schedule()).add(entry, task);
+        entries.put(task, entry);
+    }
+
+    /**
+     * Removes a task from the index, with the assignee and times it was indexed with.
+     * @param task the task to be removed
+     */
+    void remove(Task task) {
+        if (!isValid) {
+            return;
+        }
+        Entry entry = entries.remove(task);
+        if (entry == null) {
+            return;
+        }
+        Schedule schedule = schedules.get(entry.assigneeId);
+        schedule.remove(entry, task);
+        if (schedule.isEmpty()) {
+            schedules.remove(entry.assigneeId);
+        }
+    }
+
+    /**
+     * Moves a task that has been modified in place to its current time.
+     * @param task the modified task
+     */
+    void update(Task task) {
+        remove(task);
+        add(task);
+    }
+
+    /**
+     * Builds the index from the task list if it has been invalidated.
+     * @param tasks the tasks in the order they are stored in
+     */
+    private void build(ArrayList<Task> tasks) {
+        if (!isValid) {
+            invalidate();
+            isValid = true;
+            for (Task task : tasks) {
+                add(task);
+            }
+        }
+    }
+
+    /**
+     * Returns the time a meeting ends at, which is the time it starts at if it has no fixed duration.
+     * @param meeting the meeting
+     * @return the end of the meeting in milliseconds since the epoch
+     */
+    static long getEnd(Meeting meeting) {
+        long start = meeting.getDate().getTime();
+        if (!meeting.isFixedDuration()) {
+            return start;
+        }
+        return start + timeToMilSeconds(Long.parseLong(meeting.getDuration()), meeting.getTimeUnit());
+    }
+
+    /**
+     * Converts time to milliseconds.
+     * @param duration duration of the Meeting.
+     * @param unit unit the duration of the Meeting is in.
+     * @return duration of Meeting in milliseconds.
+     */
+    private static long timeToMilSeconds(long duration, TimeUnit unit) {
+        switch (unit) {
+        case day:
+            return duration * 60 * 60 * 24 * 1000;
+        case hours:
+            return duration * 60 * 60 * 1000;
+        case minutes:
+            return  duration * 60 * 1000;
+        default:
+            return duration;
+        }
+    }
+
+    /**
+     * The meetings and leaves of one assignee.
+     */
+    private static class Schedule {
+        private IntervalTree<Task> periods = new IntervalTree<>();
+        private TreeMap<Long, ArrayList<Task>> instants = new TreeMap<>();
+        private int size = 0;
+
+        private void add(Entry entry, Task task) {
+            if (entry.isPeriod) {
+                entry.handle = periods.add(entry.start, entry.end, task);
+            } else {
+                instants.computeIfAbsent(entry.start, start -> new ArrayList<>()).add(task);
+            }
+            size += 1;
+        }
+
+        private void remove(Entry entry, Task task) {
+            if (entry.isPeriod) {
+                periods.remove(entry.start, entry.handle);
+            } else {
+                ArrayList<Task> atStart = instants.get(entry.start);
+                atStart.remove(task);
+                if (atStart.isEmpty()) {
+                    instants.remove(entry.start);
+                }
+            }
+            size -= 1;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        // finds the tasks the entry clashes with, by the rule of Entry.clashesWith
+        private void findClashes(Entry entry, ArrayList<Task> clashes) {
+            if (entry.isPeriod) {
+                periods.findOverlapping(entry.start, entry.end, clashes);
+                addInstants(entry.start, entry.end, clashes);
+            } else {
+                periods.findOverlapping(entry.start, entry.start + 1, clashes);
+                long bucket = entry.start / INSTANT_PRECISION * INSTANT_PRECISION;
+                addInstants(bucket, bucket + INSTANT_PRECISION, clashes);
+            }
+        }
+
+        private void addInstants(long start, long end, ArrayList<Task> clashes) {
+            for (Map.Entry<Long, ArrayList<Task>> atStart : instants.subMap(start, end).entrySet()) {
+                clashes.addAll(atStart.getValue());
+            }
+        }
+    }
+
+    /**
+     * The assignee and times a meeting or leave was indexed with.
+     * Meetings with a fixed duration and leaves take up a period, and meetings without a duration,
+     * or with a fixed duration of zero, an instant.
+     */
+    static class Entry {
+        private int assigneeId;
+        private boolean isPeriod;
+        private long start;
+        private long end;
+        private long handle;
+
+        /**
+         * Constructor for the Entry class.
+         * @param task the meeting or leave
+         */
+        Entry(Task task) {
+            assigneeId = task.getAssigneeId();
+            if (task instanceof Leave) {
+                isPeriod = true;
+                start = ((Leave) task).getStartDate().getTime();
+                end = ((Leave) task).getEndDate().getTime();
+            } else {
+                start = task.getDate().getTime();
+                end = getEnd((Meeting) task);
+                // a fixed duration of zero would be an empty range, which nothing overlaps
+                isPeriod = end > start;
+            }
+        }
+
+        /**
+         * Returns the time the task starts at.
+         * @return the start in milliseconds since the epoch
+         */
+        long getStart() {
+            return start;
+        }
+
+        /**
+         * Returns the time before which the task can clash with tasks starting after it:
+         * the end of its period, or the end of the ten seconds an instant starts within.
+         * @return the time in milliseconds since the epoch, exclusive
+         */
+        long getReach() {
+            return isPeriod ? end : start / INSTANT_PRECISION * INSTANT_PRECISION + INSTANT_PRECISION;
+        }
+
+        /**
+         * Checks if the times of two tasks clash, regardless of their assignees.
+         * Periods clash if they overlap, a period and an instant clash if the instant is during the period,
+         * and instants clash if they are within the same ten seconds. The index is searched by the same rule.
+         * @param other the times of the other task
+         * @return true if the times clash
+         */
+        boolean clashesWith(Entry other) {
+            if (isPeriod && other.isPeriod) {
+                return start < other.end && other.start < end;
+            } else if (isPeriod) {
+                return start <= other.start && other.start < end;
+            } else if (other.isPeriod) {
+                return other.start <= start && start < other.end;
+            } else {
+                return start / INSTANT_PRECISION == other.start / INSTANT_PRECISION;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package Operations;
+
+import Model_Classes.Task;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Moves tasks into the overdue list as their dates pass, and drops leaves as they end.
+ * A single timer is kept for the earliest time a task of the list expires at, which is read from
+ * an index of the tasks ordered by that time, so no tasks are compared to the current time until one expires.
+ * The timer runs on a background thread, which holds the lock on the task lists of the persistence service
+ * while it marks the expired tasks as overdue and adds them to the overdue list, and requests the changed lists
+ * to be flushed. The expired tasks are only removed from the task list on the thread reading the commands,
+ * just before the task list is shown, so the indexes a command is given always refer to the listing
+ * the user last saw.
+ */
+public class DeadlineScheduler {
+    private TaskList taskList;
+    private OverdueList overdueList;
+    private PersistenceService persistence;
+    private LongSupplier clock;
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> timer = null;
+    private long timerExpiry = Long.MAX_VALUE;
+    private Set<Task> expired = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long sweptUntil = Long.MIN_VALUE;
+
+    /**
+     * Constructor for the DeadlineScheduler class, reading the time from the system clock.
+     * @param taskList the task list holding the tasks to be moved
+     * @param overdueList the overdue list the tasks are moved into
+     * @param persistence persistence service holding the lock on the task lists
+     */
+    public DeadlineScheduler(TaskList taskList, OverdueList overdueList, PersistenceService persistence) {
+        this(taskList, overdueList, persistence, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor for the DeadlineScheduler class.
+     * @param taskList the task list holding the tasks to be moved
+     * @param overdueList the overdue list the tasks are moved into
+     * @param persistence persistence service holding the lock on the task lists
+     * @param clock the current time in milliseconds since the epoch
+     */
+    public DeadlineScheduler(TaskList taskList, OverdueList overdueList, PersistenceService persistence,
+                             LongSupplier clock) {
+        this.taskList = taskList;
+        this.overdueList = overdueList;
+        this.persistence = persistence;
+        this.clock = clock;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deadline-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the timer for the earliest time a task of the list that has not expired yet expires at.
+     * Does nothing if the timer is already set for that time.
+     * Must be called while holding the lock on the task lists, after the task list has been modified.
+     */
+    public synchronized void reschedule() {
+        long expiry = TaskList.getNextExpiry(sweptUntil);
+        if (timer != null && expiry == timerExpiry) {
+            return;
+        }
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        timerExpiry = expiry;
+        if (expiry != Long.MAX_VALUE) {
+            // a task is overdue once the current time is after its date
+            long delay = Math.max(0, expiry - clock.getAsLong() + 1);
+            timer = executor.schedule(this::expire, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the timer.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Marks the expired tasks as overdue and adds them to the overdue list, and sets the timer for the next task
+     * to expire. Called by the timer when it goes off.
+     * The tasks stay in the task list until {@link #removeExpired()} is called.
+     */
+    public void expire() {
+        persistence.lock();
+        try {
+            synchronized (this) {
+                // the timer may have been set again while this one waited for the lock, so it is always replaced
+                timerExpiry = Long.MIN_VALUE;
+            }
+            long now = clock.getAsLong();
+            expired.addAll(taskList.markOverdue(overdueList, now));
+            sweptUntil = Math.max(sweptUntil, now);
+            persistence.requestFlush();
+            reschedule();
+        } finally {
+            persistence.unlock();
+        }
+    }
+
+    /**
+     * Removes the tasks that have expired since the task list was last shown from the task list.
+     * Reads no dates, as the tasks were found when they expired.
+     * Must be called while holding the lock on the task lists, before the task list is shown.
+     */
+    public void removeExpired() {
+        if (!expired.isEmpty()) {
+            taskList.removeExpired(expired);
+            expired.clear();
+            sweptUntil = Long.MIN_VALUE;
+            persistence.requestFlush();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package Operations;
+
+import Model_Classes.Task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * An index of the tasks of a list by their keys, used to find the duplicates of a task without searching the list.
+ * The key of a task is read once, when it is indexed, so a task is removed under the key it was indexed with.
+ * Once built, the index is kept up to date as tasks are added, removed and updated,
+ * and it is only built again from the list after it has been invalidated.
+ */
+class DuplicateIndex {
+    private HashMap<TaskKey, ArrayList<Task>> tasksByKey = new HashMap<>();
+    private IdentityHashMap<Task, TaskKey> keys = new IdentityHashMap<>();
+    private boolean isValid = false;
+
+    /**
+     * Returns a task of the list that is a duplicate of a task, with the same type, description, assignee and date.
+     * @param tasks the tasks of the list, to build the index from if it has been invalidated
+     * @param task the task to be checked
+     * @return the duplicate added to the list first, or null if there is none
+     */
+    Task find(ArrayList<Task> tasks, Task task) {
+        build(tasks);
+        ArrayList<Task> duplicates = tasksByKey.get(new TaskKey(task));
+        return duplicates == null ? null : duplicates.get(0);
+    }
+
+    /**
+     * Marks the index as out of date, so it is built again the next time it is searched.
+     */
+    void invalidate() {
+        isValid = false;
+        tasksByKey.clear();
+        keys.clear();
+    }
+
+    /**
+     * Adds a new task to the index.
+     * @param task the task to be added
+     */
+    void add(Task task) {
+        if (!isValid) {
+            return;
+        }
+        TaskKey key = new TaskKey(task);
+        tasksByKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(task);
+        keys.put(task, key);
+    }
+
+    /**
+     * Removes a task from the index, under the key it was indexed with.
+     * @param task the task to be removed
+     */
+    void remove(Task task) {
+        if (!isValid) {
+            return;
+        }
+        TaskKey key = keys.remove(task);
+        if (key == null) {
+            return;
+        }
+        ArrayList<Task> duplicates = tasksByKey.get(key);
+        for (int i = 0; i < duplicates.size(); i++) {
+            if (duplicates.get(i) == task) {
+                duplicates.remove(i);
+                break;
+            }
+        }
+        if (duplicates.isEmpty()) {
+            tasksByKey.remove(key);
+        }
+    }
+
+    /**
+     * Moves a task that has been modified in place to its current key.
+     * @param task the modified task
+     */
+    void update(Task task) {
+        remove(task);
+        add(task);
+    }
+
+    /**
+     * Builds the index from the list if it has been invalidated.
+     * @param tasks the tasks of the list
+     */
+    private void build(ArrayList<Task> tasks) {
+        if (!isValid) {
+            invalidate();
+            isValid = true;
+            for (Task task : tasks) {
+                add(task);
+            }
+        }
+    }
+}
@@ -80,6 +80,9 @@ public class Help {
             case show:
                 ui.helpShow();
                 break;
+            case report:
+                ui.helpReport();
+                break;
         }
     }
 
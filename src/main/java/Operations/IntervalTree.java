@@ -0,0 +1,169 @@
+package Operations;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * A set of half-open time ranges [start, end), each holding a value, that finds the ranges overlapping a range.
+ * The ranges are kept in a randomized binary search tree ordered by their starts, and each node also holds
+ * the latest end within its subtree, so subtrees that end before a range are skipped when searching.
+ * Adding and removing a range take O(log n) and finding the k ranges overlapping a range takes O(log n + k),
+ * expected.
+ * @param <T> type of the values held by the ranges
+ */
+class IntervalTree<T> {
+    private Node<T> root = null;
+    private long nextSequence = 0;
+    private Random random = new Random();
+
+    /**
+     * Adds a range to the tree.
+     * @param start start of the range
+     * @param end end of the range, exclusive
+     * @param value value held by the range
+     * @return handle of the range, used to remove it
+     */
+    long add(long start, long end, T value) {
+        Node<T> node = new Node<>(start, end, nextSequence++, random.nextInt(), value);
+        root = insert(root, node);
+        return node.sequence;
+    }
+
+    /**
+     * Removes a range from the tree.
+     * @param start start of the range
+     * @param handle handle returned when the range was added
+     */
+    void remove(long start, long handle) {
+        root = delete(root, start, handle);
+    }
+
+    /**
+     * Adds the values of the ranges overlapping a range to a list, in order of the starts of the ranges.
+     * @param start start of the range
+     * @param end end of the range, exclusive
+     * @param values list the values are added to
+     */
+    void findOverlapping(long start, long end, ArrayList<T> values) {
+        findOverlapping(root, start, end, values);
+    }
+
+    private void findOverlapping(Node<T> node, long start, long end, ArrayList<T> values) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        findOverlapping(node.left, start, end, values);
+        if (node.start < end) {
+            if (node.end > start) {
+                values.add(node.value);
+            }
+            // ranges in the right subtree start at or after this one
+            findOverlapping(node.right, start, end, values);
+        }
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.compareTo(node.start, node.sequence) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<T> delete(Node<T> node, long start, long sequence) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = Node.compare(start, sequence, node.start, node.sequence);
+        if (comparison < 0) {
+            node.left = delete(node.left, start, sequence);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, sequence);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else if (node.left.priority > node.right.priority) {
+            node = rotateRight(node);
+            node.right = delete(node.right, start, sequence);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, start, sequence);
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    /**
+     * A range in the tree, ordered by its start and then by the order the ranges were added in.
+     */
+    private static class Node<T> {
+        private long start;
+        private long end;
+        private long maxEnd;
+        private long sequence;
+        private int priority;
+        private T value;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(long start, long end, long sequence, int priority, T value) {
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.value = value;
+        }
+
+        private int compareTo(long otherStart, long otherSequence) {
+            return compare(start, sequence, otherStart, otherSequence);
+        }
+
+        private static int compare(long start, long sequence, long otherStart, long otherSequence) {
+            if (start != otherStart) {
+                return Long.compare(start, otherStart);
+            }
+            return Long.compare(sequence, otherSequence);
+        }
+
+        private void update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+    }
+}
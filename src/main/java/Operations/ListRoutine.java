@@ -6,22 +6,28 @@ import Model_Classes.ProgressBar;
 public class ListRoutine {
     private TaskList taskList;
     private OverdueList overdueList;
+    private DeadlineScheduler scheduler;
     private Ui ui = new Ui();
 
     /**
      * constructor for the ListRoutine.
      * @param taskList the task list to be listed using the list routine
+     * @param overdueList the overdue list expired tasks are moved into
+     * @param scheduler the scheduler removing the expired tasks before the list is shown
      */
-    public ListRoutine(TaskList taskList, OverdueList overdueList) {
+    public ListRoutine(TaskList taskList, OverdueList overdueList, DeadlineScheduler scheduler) {
         this.taskList = taskList;
         this.overdueList = overdueList;
+        this.scheduler = scheduler;
     }
 
     /**
      * the listing method to be used by ListRoutine.
-     * lists the tasks and the associated information, while showing the progress bar
+     * removes the tasks that have expired since the list was last shown,
+     * then lists the tasks and the associated information, while showing the progress bar
      */
     public void list() {
+        scheduler.removeExpired();
         ui.showSort();
         ui.showList();
         try {
@@ -0,0 +1,63 @@
+package Operations;
+
+import java.util.ArrayList;
+
+/**
+ * A task list converted into the lines of the data file format, with the IDs of its tasks.
+ * It is taken while the task list is locked, and can then be written to storage while the list keeps changing.
+ */
+public class ListSnapshot {
+    /**
+     * Version of a snapshot that is not taken at a known modification count of its list.
+     */
+    static final long NO_VERSION = Long.MIN_VALUE;
+    private long[] ids;
+    private ArrayList<String> lines;
+    private long version;
+
+    /**
+     * Constructor for the ListSnapshot class.
+     * @param ids IDs of the tasks of the list, in the order of the list
+     * @param lines lines of the tasks of the list, in the order of the list
+     * @param version modification count of the list when the snapshot was taken
+     */
+    ListSnapshot(long[] ids, ArrayList<String> lines, long version) {
+        this.ids = ids;
+        this.lines = lines;
+        this.version = version;
+    }
+
+    /**
+     * Returns the number of tasks in the snapshot.
+     * @return the number of tasks
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the ID of a task in the snapshot.
+     * @param index index of the task in the list
+     * @return the ID of the task
+     */
+    long getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Returns the line of a task in the snapshot.
+     * @param index index of the task in the list
+     * @return the line of the task
+     */
+    String getLine(int index) {
+        return lines.get(index);
+    }
+
+    /**
+     * Returns the modification count of the list when the snapshot was taken.
+     * @return the modification count, or NO_VERSION if it is not known
+     */
+    long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,274 @@
+package Operations;
+
+import CustomExceptions.RoomShareException;
+import Enums.ExceptionType;
+import Model_Classes.Task;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A rolling archive of compressed snapshots of the task list, written by the log command.
+ * Each snapshot is compressed into its own GZIP member and appended to the current segment file,
+ * and a new segment is started once the current one grows past the segment size.
+ * An index file records the timestamp, segment, offset and length of every snapshot,
+ * so a past snapshot is read back by decompressing only that snapshot.
+ * Whole segments are dropped, oldest first, once the archive grows past its size limit
+ * or their snapshots grow older than the age limit.
+ */
+public class LogArchive {
+    private static final String INDEX_FILE = "index.txt";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_EXTENSION = ".gz";
+    private static final long DEFAULT_SEGMENT_SIZE = 1L << 20;
+    private static final long DEFAULT_MAX_SIZE = 32L << 20;
+    private static final long DEFAULT_MAX_AGE = 30L * 24 * 60 * 60 * 1000;
+    private Storage storage;
+    private File directory;
+    private long segmentSize;
+    private long maxSize;
+    private long maxAge;
+    private ArrayList<Entry> entries = new ArrayList<>();
+
+    /**
+     * Constructor for the LogArchive class, with the default segment size and retention limits.
+     * @param storage storage used to convert tasks to and from lines of the data file format
+     * @param directory directory holding the archive
+     * @throws RoomShareException when the index of the archive cannot be read
+     */
+    public LogArchive(Storage storage, String directory) throws RoomShareException {
+        this(storage, directory, DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_SIZE, DEFAULT_MAX_AGE);
+    }
+
+    /**
+     * Constructor for the LogArchive class.
+     * @param storage storage used to convert tasks to and from lines of the data file format
+     * @param directory directory holding the archive
+     * @param segmentSize size in bytes after which a new segment is started
+     * @param maxSize size in bytes of all segments after which the oldest segments are dropped
+     * @param maxAge age in milliseconds after which a segment is dropped, measured from its newest snapshot
+     * @throws RoomShareException when the index of the archive cannot be read
+     */
+    public LogArchive(Storage storage, String directory, long segmentSize, long maxSize, long maxAge)
+            throws RoomShareException {
+        this.storage = storage;
+        this.directory = new File(directory);
+        this.segmentSize = segmentSize;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        File index = new File(this.directory, INDEX_FILE);
+        if (index.exists()) {
+            try {
+                for (String line : Files.readAllLines(index.toPath(), StandardCharsets.UTF_8)) {
+                    Entry entry = Entry.parse(line);
+                    // a line cut short by a crash while appending is dropped
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new RoomShareException(ExceptionType.logError);
+            }
+        }
+    }
+
+    /**
+     * Appends a snapshot of a task list to the archive, timestamped with the current time.
+     * @param list the task list
+     * @return the path of the segment holding the snapshot
+     * @throws RoomShareException when the snapshot cannot be written
+     */
+    public String append(ArrayList<Task> list) throws RoomShareException {
+        return append(list, System.currentTimeMillis());
+    }
+
+    /**
+     * Appends a snapshot of a task list to the archive.
+     * Timestamps are kept strictly increasing, so a timestamp at or before the last snapshot is moved after it.
+     * @param list the task list
+     * @param timestamp time of the snapshot, in milliseconds since the epoch
+     * @return the path of the segment holding the snapshot
+     * @throws RoomShareException when the snapshot cannot be written
+     */
+    public String append(ArrayList<Task> list, long timestamp) throws RoomShareException {
+        try {
+            if (!directory.exists()) {
+                directory.mkdirs();
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(compressed),
+                    StandardCharsets.UTF_8));
+            storage.writeLines(list, writer);
+            writer.close();
+
+            Entry last = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+            int segment = last == null ? 0 : last.segment;
+            File segmentFile = segmentFile(segment);
+            if (segmentFile.exists() && segmentFile.length() >= segmentSize) {
+                segment += 1;
+                segmentFile = segmentFile(segment);
+            }
+            long offset = segmentFile.exists() ? segmentFile.length() : 0;
+            FileOutputStream out = new FileOutputStream(segmentFile, true);
+            compressed.writeTo(out);
+            out.close();
+
+            Entry entry = new Entry(last == null ? timestamp : Math.max(timestamp, last.timestamp + 1),
+                    segment, offset, compressed.size());
+            Writer index = new OutputStreamWriter(new FileOutputStream(new File(directory, INDEX_FILE), true),
+                    StandardCharsets.UTF_8);
+            index.write(entry.toString() + "\n");
+            index.close();
+            entries.add(entry);
+            applyRetention(entry.timestamp);
+            return segmentFile.getPath();
+        } catch (IOException e) {
+            throw new RoomShareException(ExceptionType.logError);
+        }
+    }
+
+    /**
+     * Returns the timestamps of the snapshots in the archive, oldest first.
+     * @return the timestamps of the snapshots
+     */
+    public ArrayList<Long> getTimestamps() {
+        ArrayList<Long> timestamps = new ArrayList<>();
+        for (Entry entry : entries) {
+            timestamps.add(entry.timestamp);
+        }
+        return timestamps;
+    }
+
+    /**
+     * Returns the task list of the newest snapshot taken at or before a time.
+     * The snapshot is found by a binary search of the index, and only that snapshot is decompressed.
+     * @param timestamp time in milliseconds since the epoch
+     * @return the task list of the snapshot
+     * @throws RoomShareException when there is no snapshot at or before the time, or it cannot be read
+     */
+    public ArrayList<Task> getSnapshot(long timestamp) throws RoomShareException {
+        int low = 0;
+        int high = entries.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (entries.get(middle).timestamp <= timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (high < 0) {
+            throw new RoomShareException(ExceptionType.logError);
+        }
+        Entry entry = entries.get(high);
+        try (RandomAccessFile segment = new RandomAccessFile(segmentFile(entry.segment), "r")) {
+            byte[] bytes = new byte[entry.length];
+            segment.seek(entry.offset);
+            segment.readFully(bytes);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8));
+            return storage.readLines(reader);
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new RoomShareException(ExceptionType.logError);
+        }
+    }
+
+    /**
+     * Drops the oldest segments while the archive is over its size limit or their snapshots are too old.
+     * The current segment is never dropped.
+     * @param now time of the newest snapshot
+     * @throws IOException when the index cannot be rewritten
+     */
+    private void applyRetention(long now) throws IOException {
+        int currentSegment = entries.get(entries.size() - 1).segment;
+        long totalSize = 0;
+        for (int segment = entries.get(0).segment; segment <= currentSegment; segment++) {
+            totalSize += segmentFile(segment).length();
+        }
+        int dropped = 0;
+        while (entries.get(dropped).segment != currentSegment) {
+            int segment = entries.get(dropped).segment;
+            int next = dropped;
+            while (entries.get(next).segment == segment) {
+                next++;
+            }
+            long newest = entries.get(next - 1).timestamp;
+            if (totalSize <= maxSize && now - newest <= maxAge) {
+                break;
+            }
+            totalSize -= segmentFile(segment).length();
+            segmentFile(segment).delete();
+            dropped = next;
+        }
+        if (dropped == 0) {
+            return;
+        }
+        entries.subList(0, dropped).clear();
+        File temp = new File(directory, INDEX_FILE + Storage.TEMP_EXTENSION);
+        Writer index = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8);
+        for (Entry entry : entries) {
+            index.write(entry.toString() + "\n");
+        }
+        index.close();
+        Storage.replaceFile(temp, new File(directory, INDEX_FILE).getPath());
+        new File(directory, INDEX_FILE + Storage.BACKUP_EXTENSION).delete();
+    }
+
+    private File segmentFile(int segment) {
+        return new File(directory, SEGMENT_PREFIX + segment + SEGMENT_EXTENSION);
+    }
+
+    /**
+     * A line of the index, locating a single snapshot.
+     */
+    private static class Entry {
+        private long timestamp;
+        private int segment;
+        private long offset;
+        private int length;
+
+        private Entry(long timestamp, int segment, long offset, int length) {
+            this.timestamp = timestamp;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /**
+         * Parses a line of the index.
+         * @param line line of the index
+         * @return the entry of the line, or null if the line is incomplete
+         */
+        private static Entry parse(String line) {
+            String[] fields = line.split(" ");
+            if (fields.length != 4) {
+                return null;
+            }
+            try {
+                return new Entry(Long.parseLong(fields[0]), Integer.parseInt(fields[1]),
+                        Long.parseLong(fields[2]), Integer.parseInt(fields[3]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return timestamp + " " + segment + " " + offset + " " + length;
+        }
+    }
+}
@@ -9,6 +9,8 @@ import java.util.ArrayList;
 
 public class OverdueList {
     private static ArrayList<Task> overdue;
+    private static long modificationCount = 0;
+    private static DuplicateIndex duplicates = new DuplicateIndex();
 
     /**
      * A constructor for the overdueList class.
@@ -17,6 +19,7 @@ public class OverdueList {
      */
     public OverdueList(ArrayList<Task> Overdue) {
         OverdueList.overdue = Overdue;
+        markModified();
     }
 
     /**
@@ -26,6 +29,19 @@ public class OverdueList {
      */
     public void add(Task task) {
         overdue.add(task);
+        modificationCount += 1;
+        duplicates.add(task);
+    }
+
+    /**
+     * Checks if the overdue list holds a duplicate of a task, with the same type, description, assignee and date.
+     * Tasks are looked up by their keys in an index, which is rebuilt on the first lookup after the list has been
+     * modified other than by adding tasks.
+     * @param task the task to be checked
+     * @return true if a duplicate of the task is in the overdue list
+     */
+    static boolean contains(Task task) {
+        return duplicates.find(overdue, task) != null;
     }
 
     /**
@@ -58,6 +74,7 @@ public class OverdueList {
         for (int i = 0; i < index.length; i++){
             overdue.removeIf(n -> !n.getOverdue());
         }
+        markModified();
     }
 
     /**
@@ -111,6 +128,7 @@ public class OverdueList {
             }
             deletedList.add(overdue.get(idx[0]));
             overdue.remove(idx[0]);
+            markModified();
         } else {
             if (idx[0] < 0 || idx[0] >= overdue.size() || idx[1] < 0 || idx[1] >= overdue.size()) {
                 throw new RoomShareException(ExceptionType.outOfBounds);
@@ -119,6 +137,7 @@ public class OverdueList {
                 deletedList.add(overdue.get(i));
                 overdue.remove(i);
             }
+            markModified();
         }
     }
 
@@ -129,4 +148,21 @@ public class OverdueList {
     public static ArrayList<Task> getOverdueList() {
         return overdue;
     }
+
+    /**
+     * Returns the number of modifications made to the overdue list so far.
+     * The count only ever grows, so an unchanged count means the list has not changed.
+     * @return the modification count of the overdue list
+     */
+    public static long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Records that the overdue list or one of its tasks has been modified.
+     */
+    static void markModified() {
+        modificationCount += 1;
+        duplicates.invalidate();
+    }
 }
@@ -0,0 +1,133 @@
+package Operations;
+
+import CustomExceptions.RoomShareException;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Saves the task lists to storage on a background writer thread.
+ * Flush requests that arrive while the writer is busy are coalesced into a single flush.
+ * The writer only holds the state lock, which the command thread releases while it waits for the next command,
+ * while it takes a snapshot of the task lists. The snapshot is written to disk after the lock is released again.
+ * Errors in writing are not shown by the writer thread, but kept for the command thread to show.
+ */
+public class PersistenceService {
+    private static final String DATA_FILE = "data.txt";
+    private static final String OVERDUE_FILE = "overdue.txt";
+    private Storage storage;
+    private ReentrantLock stateLock = new ReentrantLock();
+    private Thread writer;
+    private boolean isFlushRequested = false;
+    private boolean isStopped = false;
+    private volatile RoomShareException writeError = null;
+
+    /**
+     * Constructor for the PersistenceService class.
+     * Starts the writer thread.
+     * @param storage storage the task lists are written to
+     */
+    public PersistenceService(Storage storage) {
+        this.storage = storage;
+        writer = new Thread(this::runWriter, "persistence-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Locks the task lists so that the writer thread does not read them while they are being modified.
+     */
+    public void lock() {
+        stateLock.lock();
+    }
+
+    /**
+     * Unlocks the task lists so that the writer thread can flush them.
+     */
+    public void unlock() {
+        stateLock.unlock();
+    }
+
+    /**
+     * Requests the task lists to be flushed to storage.
+     * Returns immediately, the flush happens on the writer thread.
+     */
+    public synchronized void requestFlush() {
+        isFlushRequested = true;
+        notifyAll();
+    }
+
+    /**
+     * Flushes the task lists one last time and stops the writer thread.
+     * Waits until the last flush has been written.
+     * Must not be called while holding the lock on the task lists.
+     * @throws InterruptedException when interrupted while waiting for the writer thread
+     */
+    public void drain() throws InterruptedException {
+        synchronized (this) {
+            isFlushRequested = true;
+            isStopped = true;
+            notifyAll();
+        }
+        writer.join();
+    }
+
+    /**
+     * Returns the error of the last flush that failed since this method was last called, and forgets it.
+     * Called by the command thread, which shows the error between commands.
+     * @return the error, or null if no flush has failed
+     */
+    public RoomShareException takeWriteError() {
+        RoomShareException error = writeError;
+        writeError = null;
+        return error;
+    }
+
+    /**
+     * Waits for flush requests and flushes the task lists until the service is stopped.
+     */
+    private void runWriter() {
+        while (true) {
+            synchronized (this) {
+                while (!isFlushRequested && !isStopped) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (!isFlushRequested) {
+                    return;
+                }
+                isFlushRequested = false;
+            }
+            flush();
+        }
+    }
+
+    /**
+     * Writes the task lists to storage. Lists that have not been modified since they were last written are skipped.
+     * The lists are only locked while their snapshots are taken, not while the snapshots are written.
+     */
+    private void flush() {
+        try {
+            ListSnapshot tasks;
+            ListSnapshot overdue;
+            stateLock.lock();
+            try {
+                tasks = storage.snapshot(TaskList.currentList(), DATA_FILE, TaskList.getModificationCount());
+                overdue = storage.snapshot(OverdueList.getOverdueList(), OVERDUE_FILE,
+                        OverdueList.getModificationCount());
+            } finally {
+                stateLock.unlock();
+            }
+            if (tasks != null) {
+                storage.writeSnapshot(tasks, DATA_FILE);
+            }
+            if (overdue != null) {
+                storage.writeSnapshot(overdue, OVERDUE_FILE);
+            }
+        } catch (RoomShareException e) {
+            writeError = e;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Date;
 public class RecurHandler {
     public static final String DATE_ERROR_SET_AS_NOT_DONE = "Error in parsing date, will be setting the task "
             + "to not done instead";
+    private static final long MILLISECONDS_PER_MINUTE = 60 * 1000;
     private TaskList taskList;
     private Parser parser = new Parser();
 
@@ -75,31 +76,23 @@ public class RecurHandler {
     }
 
     /**
-     * Returns a new Date object with the date stored in the task object class
-     * If any error occurs, the Date object will be set to the current date instead.
+     * Returns a new Date object one recurrence after the date stored in the task object class.
      * @param check Task object containing the Date information to be extracted
      * @return newDate, containing a the date information of the task object class.
      */
     private Date getNewDate(Task check) {
-        Date newDate = new Date();
-        try {
-            Calendar calendar = Calendar.getInstance();
-            String date = new Storage().convertForStorage(check);
-            date = date.substring(0, 15);
-            Date storedDate = parser.formatDateDDMMYY(date);
-            calendar.setTime(storedDate);
-            if (check.getRecurrenceSchedule().equals(RecurrenceScheduleType.day)) {
-                calendar.add(Calendar.DAY_OF_MONTH, 1);
-            } else if (check.getRecurrenceSchedule().equals(RecurrenceScheduleType.week)) {
-                calendar.add(Calendar.WEEK_OF_MONTH, 1);
-            } else {
-                calendar.add(Calendar.MONTH, 1);
-            }
-            newDate = calendar.getTime();
-        } catch (RoomShareException e) {
-            System.out.println();
+        Calendar calendar = Calendar.getInstance();
+        // stored dates only keep the minutes
+        long storedTime = Math.floorDiv(check.getDate().getTime(), MILLISECONDS_PER_MINUTE) * MILLISECONDS_PER_MINUTE;
+        calendar.setTimeInMillis(storedTime);
+        if (check.getRecurrenceSchedule().equals(RecurrenceScheduleType.day)) {
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+        } else if (check.getRecurrenceSchedule().equals(RecurrenceScheduleType.week)) {
+            calendar.add(Calendar.WEEK_OF_MONTH, 1);
+        } else {
+            calendar.add(Calendar.MONTH, 1);
         }
-        return newDate;
+        return calendar.getTime();
     }
 
     /**
@@ -123,6 +116,7 @@ public class RecurHandler {
         } catch (RoomShareException e) {
             System.out.println(DATE_ERROR_SET_AS_NOT_DONE);
             check.setDone(false);
+            TaskList.markModified();
             isEdited = true;
         }
         return isPassed;
@@ -0,0 +1,60 @@
+package Operations;
+
+import Model_Classes.Task;
+
+import java.util.ArrayList;
+import java.util.TreeMap;
+
+/**
+ * A report of the health of the schedule, made by {@link CheckAnomaly#checkSchedule(ArrayList)}.
+ * Holds every pair of clashing tasks and the periods each assignee is busy for, grouped by assignee.
+ * The periods an assignee is free for are the gaps between the periods they are busy for.
+ */
+public class ScheduleReport {
+    private TreeMap<String, ArrayList<Task[]>> clashes = new TreeMap<>();
+    private TreeMap<String, ArrayList<long[]>> busyPeriods = new TreeMap<>();
+
+    /**
+     * Adds a pair of clashing tasks to the report.
+     * @param assignee the assignee the tasks clash for
+     * @param first the task starting first
+     * @param second the task starting second
+     */
+    void addClash(String assignee, Task first, Task second) {
+        clashes.computeIfAbsent(assignee, name -> new ArrayList<>()).add(new Task[] {first, second});
+    }
+
+    /**
+     * Adds a period an assignee is busy for to the report, merging it with the previous period if they overlap.
+     * Periods must be added in the order of their starts.
+     * @param assignee the busy assignee
+     * @param start start of the period in milliseconds since the epoch
+     * @param end end of the period in milliseconds since the epoch, exclusive
+     */
+    void addBusy(String assignee, long start, long end) {
+        ArrayList<long[]> periods = busyPeriods.computeIfAbsent(assignee, name -> new ArrayList<>());
+        if (!periods.isEmpty() && periods.get(periods.size() - 1)[1] >= start) {
+            long[] last = periods.get(periods.size() - 1);
+            last[1] = Math.max(last[1], end);
+        } else {
+            periods.add(new long[] {start, end});
+        }
+    }
+
+    /**
+     * Returns the pairs of clashing tasks of each assignee.
+     * @return the pairs of clashing tasks, by the name of the assignee, in the order the second tasks start in
+     */
+    public TreeMap<String, ArrayList<Task[]>> getClashes() {
+        return clashes;
+    }
+
+    /**
+     * Returns the periods each assignee is busy for.
+     * @return the disjoint [start, end) periods in milliseconds since the epoch, by the name of the assignee,
+     *     in the order they start in
+     */
+    public TreeMap<String, ArrayList<long[]>> getBusyPeriods() {
+        return busyPeriods;
+    }
+}
@@ -0,0 +1,427 @@
+package Operations;
+
+import Enums.Priority;
+import Enums.SortType;
+import Model_Classes.Assignment;
+import Model_Classes.Leave;
+import Model_Classes.Meeting;
+import Model_Classes.Task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * The tasks of the task list in the order of a single sort mode, or of a time key of the tasks.
+ * Tasks that are equal in the sort mode are ordered by their ranks, so no two tasks of the list are equal
+ * in a view and every task has a single position in it, which is found by a binary search.
+ * The view only holds references to the tasks, which stay in the order they are stored in within the task list.
+ * Once built, the view is kept in order as tasks are added, removed and updated,
+ * and it is only sorted again from the stored order after it has been invalidated.
+ */
+class SortView {
+    private SortType sortType;
+    private ToLongFunction<Task> key;
+    private Comparator<Task> comparator;
+    private ArrayList<Task> order = new ArrayList<>();
+    private boolean isValid = false;
+    private Task updatingTask = null;
+    private int updatingIndex = -1;
+
+    /**
+     * Constructor for the SortView class.
+     * @param sortType sort mode of the view
+     * @throws IllegalStateException when the sort type is not of priority, alphabetical, deadline or type
+     */
+    SortView(SortType sortType) {
+        this.sortType = sortType;
+        switch (sortType) {
+        case priority:
+            comparator = SortView::comparePriority;
+            break;
+        case alphabetical:
+            comparator = SortView::compareAlphabetical;
+            break;
+        case deadline:
+            comparator = SortView::compareDeadline;
+            break;
+        case type:
+            comparator = SortView::compareType;
+            break;
+        default:
+            throw new IllegalStateException("Unexpected value: " + sortType);
+        }
+        comparator = comparator.thenComparingLong(Task::getRank);
+    }
+
+    /**
+     * Constructor for a SortView ordered by a time key of the tasks.
+     * @param key time of a task in milliseconds since the epoch
+     */
+    SortView(ToLongFunction<Task> key) {
+        this.key = key;
+        comparator = Comparator.comparingLong(key).thenComparingLong(Task::getRank);
+    }
+
+    /**
+     * Returns the tasks in the order of the view, sorting them first if the view has been invalidated.
+     * @param tasks the tasks in the order they are stored in, which is the order of their ranks
+     * @return the tasks in the order of the view
+     */
+    ArrayList<Task> order(ArrayList<Task> tasks) {
+        if (!isValid) {
+            if (sortType == SortType.deadline) {
+                order = sortByDeadline(tasks);
+            } else {
+                order = new ArrayList<>(tasks);
+                order.sort(comparator);
+            }
+            isValid = true;
+        }
+        return order;
+    }
+
+    /**
+     * Marks the view as out of date, so it is sorted again the next time it is used.
+     */
+    void invalidate() {
+        isValid = false;
+        order.clear();
+        updatingTask = null;
+    }
+
+    /**
+     * Returns the position of a task in the view, found by a binary search.
+     * @param tasks the tasks in the order they are stored in, to sort the view from if it has been invalidated
+     * @param task the task
+     * @return index of the task in the view, or -1 if it is not in the view
+     */
+    int indexOf(ArrayList<Task> tasks, Task task) {
+        order(tasks);
+        return find(task);
+    }
+
+    /**
+     * Inserts a new task at the position found by a binary search.
+     * @param task the task to be inserted
+     */
+    void insert(Task task) {
+        if (isValid) {
+            order.add(insertionPoint(task), task);
+        }
+    }
+
+    /**
+     * Removes a single task from the view, at the position found by a binary search.
+     * @param task the task to be removed
+     */
+    void remove(Task task) {
+        if (isValid) {
+            int index = find(task);
+            if (index >= 0) {
+                order.remove(index);
+            }
+        }
+    }
+
+    /**
+     * Removes tasks from the view, keeping the remaining tasks in order.
+     * @param tasks the tasks to be removed
+     */
+    void remove(Set<Task> tasks) {
+        if (isValid) {
+            order.removeIf(tasks::contains);
+        }
+    }
+
+    /**
+     * Replaces a task with another task, and moves the replacement to its position.
+     * @param task the task to be replaced
+     * @param replacement the replacement task
+     */
+    void replace(Task task, Task replacement) {
+        if (isValid) {
+            int index = find(task);
+            if (index < 0) {
+                invalidate();
+                return;
+            }
+            order.remove(index);
+            order.add(insertionPoint(replacement), replacement);
+        }
+    }
+
+    /**
+     * Records the position of a task that is about to be modified in place,
+     * while its position can still be found by a binary search.
+     * @param task the task to be modified
+     */
+    void beginUpdate(Task task) {
+        updatingTask = isValid ? task : null;
+        updatingIndex = isValid ? find(task) : -1;
+    }
+
+    /**
+     * Moves a task that has been modified in place to its new position.
+     * The task is taken out at the position recorded by {@link #beginUpdate(Task)},
+     * and put back at the position found by a binary search, which is where a full sort would put it.
+     * @param task the modified task
+     */
+    void reposition(Task task) {
+        if (!isValid) {
+            return;
+        }
+        int index = task == updatingTask ? updatingIndex : order.indexOf(task);
+        updatingTask = null;
+        if (index < 0) {
+            // the task is not in the list
+            return;
+        }
+        if (index >= order.size() || order.get(index) != task) {
+            invalidate();
+            return;
+        }
+        order.remove(index);
+        order.add(insertionPoint(task), task);
+    }
+
+    /**
+     * Returns the tasks of a view ordered by a time key, whose keys are before a time.
+     * The tasks are found by a binary search for the time.
+     * @param tasks the tasks in the order they are stored in
+     * @param time time in milliseconds since the epoch
+     * @return the tasks with keys before the time, in order of their keys
+     */
+    ArrayList<Task> before(ArrayList<Task> tasks, long time) {
+        ArrayList<Task> order = order(tasks);
+        return new ArrayList<>(order.subList(0, countBefore(order, time)));
+    }
+
+    /**
+     * Returns the smallest time key of a view ordered by a time key, from a time on.
+     * The key is found by a binary search for the time.
+     * @param tasks the tasks in the order they are stored in
+     * @param time time in milliseconds since the epoch
+     * @return the smallest key that is not before the time, or Long.MAX_VALUE if there is none
+     */
+    long first(ArrayList<Task> tasks, long time) {
+        ArrayList<Task> order = order(tasks);
+        int low = countBefore(order, time);
+        return low == order.size() ? Long.MAX_VALUE : key.applyAsLong(order.get(low));
+    }
+
+    /**
+     * Returns the number of tasks of a view ordered by a time key whose keys are before a time,
+     * found by a binary search for the time.
+     * @param order the tasks in the order of the view
+     * @param time time in milliseconds since the epoch
+     * @return the number of tasks with keys before the time
+     */
+    private int countBefore(ArrayList<Task> order, long time) {
+        int low = 0;
+        int high = order.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (key.applyAsLong(order.get(middle)) < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sorts some of the tasks into the order of the view.
+     * @param tasks the tasks to be sorted
+     */
+    void sort(ArrayList<Task> tasks) {
+        tasks.sort(comparator);
+    }
+
+    /**
+     * Returns the position of a task in the view, found by a binary search.
+     * @param task the task, which must not have been modified since it was put in the view
+     * @return index of the task, or -1 if it is not in the view
+     */
+    private int find(Task task) {
+        int index = insertionPoint(task);
+        return index < order.size() && order.get(index) == task ? index : -1;
+    }
+
+    /**
+     * Returns the position a task is inserted at to keep the view sorted.
+     * The position is found by a binary search of the view.
+     * @param task the task to be inserted
+     * @return index of the position of the task
+     */
+    private int insertionPoint(Task task) {
+        int low = 0;
+        int high = order.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(order.get(middle), task) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sorts tasks by deadline, with completed tasks after the others, in the same order as the deadline comparator.
+     * The epoch time of each deadline is read once into an array, and an array of positions in the stored order
+     * is sorted by those times, so no dates are read while sorting. As the sort is stable and the tasks are stored
+     * in the order of their ranks, tasks with equal deadlines end up in the order of their ranks.
+     * @param tasks the tasks in the order they are stored in
+     * @return the tasks sorted by deadline
+     */
+    private static ArrayList<Task> sortByDeadline(ArrayList<Task> tasks) {
+        int size = tasks.size();
+        long[] times = new long[size];
+        int[] permutation = new int[size];
+        int undoneCount = 0;
+        for (Task task : tasks) {
+            if (!task.getDone()) {
+                undoneCount += 1;
+            }
+        }
+        int nextUndone = 0;
+        int nextDone = undoneCount;
+        for (int i = 0; i < size; i++) {
+            Task task = tasks.get(i);
+            times[i] = task.getDate().getTime();
+            if (task.getDone()) {
+                permutation[nextDone++] = i;
+            } else {
+                permutation[nextUndone++] = i;
+            }
+        }
+        int[] buffer = new int[size];
+        sortByTime(permutation, times, 0, undoneCount, buffer);
+        sortByTime(permutation, times, undoneCount, size, buffer);
+        ArrayList<Task> sorted = new ArrayList<>(size);
+        for (int index : permutation) {
+            sorted.add(tasks.get(index));
+        }
+        return sorted;
+    }
+
+    /**
+     * Sorts a range of positions by the times at those positions, with a stable bottom-up merge sort.
+     * @param permutation positions to be sorted
+     * @param times epoch time of each position
+     * @param from index of the first position of the range
+     * @param to index after the last position of the range
+     * @param buffer scratch space at least as long as the range
+     */
+    private static void sortByTime(int[] permutation, long[] times, int from, int to, int[] buffer) {
+        for (int width = 1; width < to - from; width *= 2) {
+            for (int low = from; low < to - width; low += 2 * width) {
+                int middle = low + width;
+                int high = Math.min(low + 2 * width, to);
+                if (times[permutation[middle - 1]] <= times[permutation[middle]]) {
+                    // both halves are already in order
+                    continue;
+                }
+                int leftSize = middle - low;
+                System.arraycopy(permutation, low, buffer, 0, leftSize);
+                int left = 0;
+                int right = middle;
+                int next = low;
+                while (left < leftSize && right < high) {
+                    if (times[permutation[right]] < times[buffer[left]]) {
+                        permutation[next++] = permutation[right++];
+                    } else {
+                        permutation[next++] = buffer[left++];
+                    }
+                }
+                System.arraycopy(buffer, left, permutation, next, leftSize - left);
+            }
+        }
+    }
+
+    /**
+     * Returns priority of the task in the form of an integer.
+     * high = 0, medium = 1, low = 2
+     * @param t task in which we are checking the value of
+     * @return integer value of the task's priority
+     */
+    private static int getValue(Task t) {
+        if (t.getPriority().equals(Priority.high)) {
+            return 0;
+        } else if (t.getPriority().equals(Priority.medium)) {
+            return 1;
+        } else {
+            return 2;
+        }
+    }
+
+    /**
+     * Compare tasks based on priority.
+     */
+    private static int comparePriority(Task task1, Task task2) {
+        if (task1.getDone() && !task2.getDone()) {
+            return 1;
+        } else if (task2.getDone() && !task1.getDone()) {
+            return -1;
+        } else {
+            return getValue(task1) - getValue(task2);
+        }
+    }
+
+    /**
+     * Compare tasks based on Alphabetical order.
+     */
+    private static int compareAlphabetical(Task task1, Task task2) {
+        if (task1.getDone() && !task2.getDone()) {
+            return 1;
+        } else if (task2.getDone() && !task1.getDone()) {
+            return -1;
+        } else {
+            String name1 = task1.getDescription();
+            String name2 = task2.getDescription();
+            return name1.compareTo(name2);
+        }
+    }
+
+    /**
+     * Compare tasks based on Deadline.
+     */
+    private static int compareDeadline(Task task1, Task task2) {
+        if (task1.getDone() && !task2.getDone()) {
+            return 1;
+        } else if (task2.getDone() && !task1.getDone()) {
+            return -1;
+        } else {
+            return Long.compare(task1.getDate().getTime(), task2.getDate().getTime());
+        }
+    }
+
+    /**
+     * Compare tasks based on Type, with meetings first, then assignments, then leaves.
+     * Tasks of the same type are equal.
+     */
+    private static int compareType(Task task1, Task task2) {
+        return Integer.compare(getTypeValue(task1), getTypeValue(task2));
+    }
+
+    /**
+     * Returns the position of the type of a task in the type sort mode.
+     * @param task the task
+     * @return 0 for a meeting, 1 for an assignment, 2 for a leave and 3 for any other task
+     */
+    private static int getTypeValue(Task task) {
+        if (task instanceof Meeting) {
+            return 0;
+        } else if (task instanceof Assignment) {
+            return 1;
+        } else if (task instanceof Leave) {
+            return 2;
+        } else {
+            return 3;
+        }
+    }
+}
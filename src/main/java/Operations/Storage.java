@@ -8,28 +8,107 @@ import Model_Classes.Meeting;
 import Model_Classes.Task;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.text.DateFormat;
-import java.text.ParseException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 /**
  * Performs storage operations such as writing and reading from a .txt file.
  */
 public class Storage {
+    private static final String JOURNAL_EXTENSION = ".journal";
+    static final String TEMP_EXTENSION = ".tmp";
+    static final String BACKUP_EXTENSION = ".bak";
+    private static final String CHECKSUM_TRAILER = "CRC32:";
+    private static final int TRAILER_SEARCH_LENGTH = 32;
+    private static final String PARALLEL_THRESHOLD_PROPERTY = "roomshare.parallelLoadThreshold";
+    private static final long MINIMUM_CHUNK_SIZE = 256L << 10;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final String LOG_DIRECTORY = "logs";
+    private static final String JOURNAL_HEADER = "@2:";
+    private static final String ADD_RECORD = "+";
+    private static final String REMOVE_RECORD = "-";
+    private static final int COMPACTION_THRESHOLD = 500;
+    private static final int ID_FIELD = 11;
+    private static final byte[] NO_SUBTASKS = new byte[0];
+    private static final long MILLISECONDS_PER_MINUTE = 60 * 1000;
+    private static final long MILLISECONDS_PER_DAY = 24 * 60 * MILLISECONDS_PER_MINUTE;
+    private boolean isJournaled;
+    private long parallelThreshold = defaultParallelThreshold();
+    private Map<String, HashMap<Long, String>> persistedLines = new ConcurrentHashMap<>();
+    private Map<String, Long> snapshotChecksums = new ConcurrentHashMap<>();
+    private Map<String, Integer> journalSizes = new ConcurrentHashMap<>();
+    private HashMap<String, Long> flushedVersions = new HashMap<>();
+    private int skippedWrites = 0;
+    private LogArchive logArchive;
 
     /**
      * Constructor for the Storage class.
      */
     public Storage() {
+        this(false);
+    }
+
+    /**
+     * Constructor for the Storage class.
+     * In journaled mode, each write only appends the tasks that changed to a journal file
+     * next to the data file instead of rewriting the whole data file.
+     * @param isJournaled whether the storage should run in journaled mode
+     */
+    public Storage(boolean isJournaled) {
+        this.isJournaled = isJournaled;
+    }
+
+    /**
+     * Sets the size from which snapshots are parsed in parallel chunks instead of line by line.
+     * @param parallelThreshold size of a snapshot in bytes, or Long.MAX_VALUE to always parse line by line
+     */
+    public void setParallelThreshold(long parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Returns the size from which snapshots are parsed in parallel by default.
+     * Chunked parsing is off unless a threshold is given in the roomshare.parallelLoadThreshold system property.
+     * It has only been timed on a single core, where it is slower than parsing line by line,
+     * and how it scales with the number of threads has not been measured.
+     * @return size of a snapshot in bytes, or Long.MAX_VALUE to always parse line by line
+     */
+    private static long defaultParallelThreshold() {
+        return Long.getLong(PARALLEL_THRESHOLD_PROPERTY, Long.MAX_VALUE);
     }
 
     /**
      * Returns an ArrayList of Tasks from a .txt file.
      * Extracts the relevant information from the data.txt file in Duke to create the tasks.
      * Populates an ArrayList with these created tasks.
+     * In journaled mode, the records in the journal of the file are replayed on top of the snapshot.
+     * If the file is missing or fails its checksum, the previous generation of the file is loaded instead,
+     * and the next write rewrites the file in full.
      *
      *
      * @return taskArrayList An ArrayList of Tasks that is created from the .txt file.
@@ -37,141 +116,420 @@ public class Storage {
      */
     public ArrayList<Task> loadFile(String fileName) throws RoomShareException {
         ArrayList<Task> taskArrayList = new ArrayList<>();
+        loadFile(fileName, taskArrayList::add);
+        return (taskArrayList);
+    }
+
+    /**
+     * Loads the tasks of a .txt file, handing each task to a consumer as soon as its line is parsed.
+     * Tasks are handed over in the order of the file, so the consumer can start working on them
+     * before the rest of the file has been read.
+     * The previous generation of the file is only loaded if no task of the file was handed over yet,
+     * which is always the case when the file is missing or fails its checksum.
+     * Loads of different files may run concurrently on the same Storage.
+     *
+     * @param fileName name of the file to be loaded
+     * @param consumer consumer of the loaded tasks
+     * @throws RoomShareException If the file has mistakes in formatting. Tasks handed over before the mistake
+     *                            should be discarded by the caller.
+     */
+    public void loadFile(String fileName, Consumer<Task> consumer) throws RoomShareException {
+        int[] published = new int[1];
         try {
-            BufferedReader bufferedReader = new BufferedReader(new FileReader(fileName));
-            String line = "";
-            ArrayList<String> tempList = new ArrayList<>();
-            while ((line = bufferedReader.readLine()) != null) {
-                tempList.add(line);
+            readSnapshot(fileName, fileName, task -> {
+                published[0] += 1;
+                consumer.accept(task);
+            });
+        } catch (RoomShareException e) {
+            File backup = new File(fileName + BACKUP_EXTENSION);
+            if (published[0] > 0 || !backup.exists()) {
+                throw e;
             }
-            Parser parser = new Parser();
-            for (String list : tempList) {
-                String[] temp = list.split("#");
+            readSnapshot(backup.getPath(), fileName, consumer);
+            persistedLines.remove(fileName);
+        }
+    }
 
-                if (temp.length > 11) {
-                    throw new RoomShareException(ExceptionType.loadError);
-                }
-                // Identify type of task
-                String scanType = temp[0].trim();
-                SaveType type;
-                try {
-                    type = SaveType.valueOf(scanType);
-                } catch (IllegalArgumentException e) {
-                    type = SaveType.empty;
+    /**
+     * Loads the tasks of a single generation of a data file.
+     * Only the lines covered by the checksum trailer of the file are read.
+     * Files written before the trailer was introduced are read in full.
+     *
+     * @param path path of the generation to be read
+     * @param fileName name of the data file that the generation belongs to
+     * @param consumer consumer of the loaded tasks
+     * @throws RoomShareException If the generation is missing, fails its checksum or has mistakes in formatting.
+     */
+    protected void readSnapshot(String path, String fileName, Consumer<Task> consumer) throws RoomShareException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            CRC32 crc = new CRC32();
+            long contentEnd = verifyChecksum(channel, crc);
+            Replay replay = new Replay(consumer);
+            if (isJournaled) {
+                long checksum = crc.getValue();
+                snapshotChecksums.put(fileName, checksum);
+                readJournal(fileName, checksum, replay.journal);
+            }
+            if (contentEnd >= parallelThreshold) {
+                readChunks(channel, contentEnd, replay);
+            } else {
+                TaskRecord record = new TaskRecord();
+                TaskRecordReader reader = new TaskRecordReader(channel, 0, contentEnd);
+                while (reader.next(record)) {
+                    replay.accept(parseRecord(record, replay.parser), isJournaled ? record.line() : null,
+                            record.fieldCount() > ID_FIELD);
                 }
+            }
+            replay.finish();
+            if (isJournaled && replay.isIdentified) {
+                persistedLines.put(fileName, replay.persisted);
+            } else {
+                // without an ID on every line the journal cannot refer to the lines, so the next write compacts
+                persistedLines.remove(fileName);
+            }
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new RoomShareException(ExceptionType.wrongFormat);
+        }
+    }
 
-                String scanDone = temp[1].trim();
-                boolean done = scanDone.equals("y");
+    /**
+     * Applies the records of a journal to the tasks of a snapshot, in the order of the snapshot,
+     * and remembers the ID of every task that ends up loaded, with its line in journaled mode.
+     * Outside journaled mode no lines are kept, so they can be collected as soon as their tasks are parsed.
+     */
+    private class Replay {
+        private LinkedHashMap<Long, String> journal = new LinkedHashMap<>();
+        private HashMap<Long, String> persisted = new HashMap<>();
+        private boolean isIdentified = true;
+        private Parser parser = new Parser();
+        private Consumer<Task> consumer;
 
-                String scanPriority = temp[2].trim();
-                Priority priority;
-                try {
-                    priority = Priority.valueOf(scanPriority);
-                } catch (IllegalArgumentException e) {
-                    priority = Priority.low;
+        private Replay(Consumer<Task> consumer) {
+            this.consumer = consumer;
+        }
+
+        /**
+         * Hands over a task of the snapshot, or the task that replaced it in the journal.
+         * Tasks tombstoned in the journal are dropped.
+         *
+         * @param task task parsed from a line of the snapshot
+         * @param line the line, or null outside journaled mode
+         * @param hasId whether the line holds the ID of the task
+         * @throws RoomShareException If the replacing line has mistakes in formatting.
+         */
+        private void accept(Task task, String line, boolean hasId) throws RoomShareException {
+            if (!hasId || persisted.containsKey(task.getId())) {
+                // a line written before IDs were stored, or a copy of another line
+                task.setId(Task.newId());
+                isIdentified = false;
+            }
+            long id = task.getId();
+            if (journal.containsKey(id)) {
+                line = journal.remove(id);
+                if (line == null) {
+                    return;
                 }
+                task = parseRecord(TaskRecord.of(line), parser);
+            }
+            persisted.put(id, line);
+            consumer.accept(task);
+        }
 
-                String description = temp[3].trim();
-
-                Date from = new Date();
-                Date to = new Date();
-                Date date = new Date();
-                if (temp[4].contains("-")) {
-                    String[] dateArray = temp[4].trim().split("-");
-                    String scanFromDate = dateArray[0].trim();
-                    try {
-                        from = parser.formatDateDDMMYY(scanFromDate);
-                    } catch (RoomShareException e) {
-                        System.out.println("error in loading file: date format error");
-                    }
-                    String scanToDate = dateArray[1].trim();
-                    try {
-                        to = parser.formatDateDDMMYY(scanToDate);
-                    } catch (RoomShareException e) {
-                        System.out.println("error in loading file: date format error");
-                    }
-                } else {
-                    String scanDate = temp[4].trim();
-                    try {
-                        date = parser.formatDateDDMMYY(scanDate);
-                    } catch (RoomShareException e) {
-                        System.out.println("error in loading file: date format error");
-                    }
+        /**
+         * Hands over the tasks that were inserted by the journal, in the order they were inserted.
+         *
+         * @throws RoomShareException If an inserted line has mistakes in formatting.
+         */
+        private void finish() throws RoomShareException {
+            for (Map.Entry<Long, String> entry : journal.entrySet()) {
+                if (entry.getValue() != null && !persisted.containsKey(entry.getKey())) {
+                    persisted.put(entry.getKey(), entry.getValue());
+                    consumer.accept(parseRecord(TaskRecord.of(entry.getValue()), parser));
                 }
+            }
+        }
+    }
 
-                String scanRecurrence = temp[5].trim();
-                RecurrenceScheduleType recurrence = null;
-                try {
-                    recurrence = RecurrenceScheduleType.valueOf(scanRecurrence);
-                } catch (IllegalArgumentException e) {
-                    throw new RoomShareException(ExceptionType.loadError);
+    /**
+     * Parses the lines of a large snapshot in parallel.
+     * The snapshot is split into chunks that end on line breaks, and each chunk is parsed on the common
+     * ForkJoin pool with its own Parser. The chunks are then handed over in the order of the file,
+     * each one as soon as it and the chunks before it are parsed.
+     *
+     * @param channel channel of the snapshot
+     * @param contentEnd position after the last line to be read
+     * @param replay replay of the journal that the tasks are handed to
+     * @throws IOException If the snapshot cannot be read.
+     * @throws RoomShareException If a line has mistakes in formatting.
+     */
+    private void readChunks(FileChannel channel, long contentEnd, Replay replay)
+            throws IOException, RoomShareException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long chunkCount = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_THREAD,
+                contentEnd / MINIMUM_CHUNK_SIZE));
+        ArrayList<ForkJoinTask<ParsedChunk>> chunks = new ArrayList<>();
+        long start = 0;
+        for (long i = 1; i <= chunkCount; i++) {
+            long end = i == chunkCount ? contentEnd
+                    : TaskRecordReader.nextLineStart(channel, Math.max(start, contentEnd * i / chunkCount), contentEnd);
+            long chunkStart = start;
+            chunks.add(pool.submit(() -> parseChunk(channel, chunkStart, end)));
+            start = end;
+        }
+        try {
+            for (ForkJoinTask<ParsedChunk> chunk : chunks) {
+                ParsedChunk parsed = chunk.get();
+                for (int i = 0; i < parsed.tasks.size(); i++) {
+                    replay.accept(parsed.tasks.get(i), parsed.lines.get(i), parsed.identified[i]);
                 }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RoomShareException(ExceptionType.loadError);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RoomShareException) {
+                throw (RoomShareException) e.getCause();
+            }
+            throw new RoomShareException(ExceptionType.wrongFormat);
+        } finally {
+            for (ForkJoinTask<ParsedChunk> chunk : chunks) {
+                chunk.cancel(false);
+            }
+        }
+    }
 
-                String user = temp[6].trim();
+    /**
+     * Parses the lines of a chunk of a snapshot.
+     *
+     * @param channel channel of the snapshot
+     * @param start position of the first line of the chunk
+     * @param end position after the last line of the chunk
+     * @return the tasks of the chunk, with their lines in journaled mode and whether the lines hold IDs
+     * @throws IOException If the chunk cannot be read.
+     * @throws RoomShareException If a line has mistakes in formatting.
+     */
+    private ParsedChunk parseChunk(FileChannel channel, long start, long end) throws IOException, RoomShareException {
+        Parser parser = new Parser();
+        TaskRecord record = new TaskRecord();
+        TaskRecordReader reader = new TaskRecordReader(channel, start, end);
+        ParsedChunk parsed = new ParsedChunk();
+        boolean[] identified = new boolean[64];
+        while (reader.next(record)) {
+            if (parsed.tasks.size() == identified.length) {
+                identified = Arrays.copyOf(identified, identified.length * 2);
+            }
+            parsed.lines.add(isJournaled ? record.line() : null);
+            identified[parsed.tasks.size()] = record.fieldCount() > ID_FIELD;
+            parsed.tasks.add(parseRecord(record, parser));
+        }
+        parsed.identified = identified;
+        return parsed;
+    }
 
-                String scanIsFixedDuration = temp[7].trim();
-                boolean isFixedDuration = scanIsFixedDuration.equals("F");
+    /**
+     * Tasks parsed from a chunk of a snapshot, with the lines they were parsed from in journaled mode
+     * and whether those lines hold task IDs.
+     */
+    private static class ParsedChunk {
+        private ArrayList<Task> tasks = new ArrayList<>();
+        private ArrayList<String> lines = new ArrayList<>();
+        private boolean[] identified;
+    }
 
-                String scanDuration = temp[8].trim();
-                int duration = 0;
-                try {
-                    duration = Integer.parseInt(scanDuration);
-                } catch (NumberFormatException e) {
-                    throw new RoomShareException(ExceptionType.loadError);
-                }
+    /**
+     * Checks the contents of a data file against the CRC32 checksum in its last line.
+     * The file is read once, and its checksum as a whole, which journals are written against,
+     * is computed in the same pass.
+     *
+     * @param channel channel of the data file
+     * @param crc checksum that the whole file is added to
+     * @return position after the last line covered by the checksum, or the size of the file if it has no checksum
+     * @throws IOException If the file cannot be read.
+     * @throws RoomShareException If the contents do not match the checksum.
+     */
+    private static long verifyChecksum(FileChannel channel, CRC32 crc) throws IOException, RoomShareException {
+        long size = channel.size();
+        int tailLength = (int) Math.min(size, TRAILER_SEARCH_LENGTH);
+        ByteBuffer tail = ByteBuffer.allocate(tailLength);
+        while (tail.hasRemaining() && channel.read(tail, size - tailLength + tail.position()) >= 0) {
+            // read until the tail is filled
+        }
+        String text = new String(tail.array(), 0, tail.position(), StandardCharsets.ISO_8859_1);
+        int lineEnd = text.length();
+        while (lineEnd > 0 && (text.charAt(lineEnd - 1) == '\n' || text.charAt(lineEnd - 1) == '\r')) {
+            lineEnd--;
+        }
+        int lineStart = text.lastIndexOf('\n', lineEnd - 1) + 1;
+        if (!text.startsWith(CHECKSUM_TRAILER, lineStart) || (lineStart == 0 && tailLength < size)) {
+            TaskRecordReader.update(crc, channel, size);
+            return size;
+        }
+        long contentEnd = size - tailLength + lineStart;
+        try {
+            long expected = Long.parseLong(text.substring(lineStart + CHECKSUM_TRAILER.length(), lineEnd), 16);
+            TaskRecordReader.update(crc, channel, contentEnd);
+            if (crc.getValue() != expected) {
+                throw new RoomShareException(ExceptionType.loadError);
+            }
+        } catch (NumberFormatException e) {
+            throw new RoomShareException(ExceptionType.loadError);
+        }
+        // the trailer is already in the tail, so the rest of the file is not read again
+        crc.update(tail.array(), lineStart, tail.position() - lineStart);
+        return contentEnd;
+    }
 
-                String scanUnit = temp[9].trim();
-                TimeUnit unit = null;
-                try {
-                    unit = TimeUnit.valueOf(scanUnit);
-                } catch (IllegalArgumentException e) {
-                    throw new RoomShareException(ExceptionType.loadError);
-                }
-                String scanSubTask = "";
-                if (temp.length > 10) {
-                    scanSubTask = temp[10].trim();
-                }
+    /**
+     * Creates a Task from a single line of the data file.
+     *
+     * @param record line of the data file, with its fields separated by '#'
+     * @param parser parser used to interpret the dates in the line
+     * @return the Task that the line describes
+     * @throws RoomShareException If the line has mistakes in formatting.
+     */
+    private Task parseRecord(TaskRecord record, Parser parser) throws RoomShareException {
+        if (record.fieldCount() > ID_FIELD + 1) {
+            throw new RoomShareException(ExceptionType.loadError);
+        }
+        // Identify type of task
+        String scanType = record.field(0);
+        SaveType type;
+        try {
+            type = SaveType.valueOf(scanType);
+        } catch (IllegalArgumentException e) {
+            type = SaveType.empty;
+        }
 
-                if (type.equals(SaveType.A)) {
-                    // Assignment type
-                    Assignment assignment = new Assignment(description, date);
-                    assignment.setPriority(priority);
-                    assignment.setAssignee(user);
-                    assignment.setRecurrenceSchedule(recurrence);
-                    assignment.setDone(done);
-                    if (!scanSubTask.equals("")) {
-                        assignment.addSubTasks(scanSubTask);
-                    }
-                    taskArrayList.add(assignment);
-                } else if (type.equals(SaveType.L)) {
-                    //Leave type
-                    Leave leave = new Leave(description, user, from, to);
-                    leave.setPriority(priority);
-                    leave.setRecurrenceSchedule(recurrence);
-                    taskArrayList.add(leave);
-                } else {
-                    //Meeting type
-                    if (isFixedDuration) {
-                        Meeting meeting = new Meeting(description, date, duration, unit);
-                        meeting.setPriority(priority);
-                        meeting.setAssignee(user);
-                        meeting.setRecurrenceSchedule(recurrence);
-                        meeting.setDone(done);
-                        taskArrayList.add(meeting);
-                    } else {
-                        Meeting meeting = new Meeting(description, date);
-                        meeting.setRecurrenceSchedule(recurrence);
-                        meeting.setPriority(priority);
-                        meeting.setAssignee(user);
-                        meeting.setDone(done);
-                        taskArrayList.add(meeting);
-                    }
-                }
+        String scanDone = record.field(1);
+        boolean done = scanDone.equals("y");
+
+        String scanPriority = record.field(2);
+        Priority priority;
+        try {
+            priority = Priority.valueOf(scanPriority);
+        } catch (IllegalArgumentException e) {
+            priority = Priority.low;
+        }
+
+        String description = record.field(3);
+
+        Date from = new Date();
+        Date to = new Date();
+        Date date = new Date();
+        String scanDates = record.field(4);
+        int dash = scanDates.indexOf('-');
+        if (dash != -1) {
+            String scanFromDate = scanDates.substring(0, dash).trim();
+            try {
+                from = parseStoredDate(scanFromDate, parser);
+            } catch (RoomShareException e) {
+                System.out.println("error in loading file: date format error");
+            }
+            String scanToDate = scanDates.substring(dash + 1).trim();
+            try {
+                to = parseStoredDate(scanToDate, parser);
+            } catch (RoomShareException e) {
+                System.out.println("error in loading file: date format error");
+            }
+        } else {
+            String scanDate = scanDates;
+            try {
+                date = parseStoredDate(scanDate, parser);
+            } catch (RoomShareException e) {
+                System.out.println("error in loading file: date format error");
+            }
+        }
+
+        String scanRecurrence = record.field(5);
+        RecurrenceScheduleType recurrence = null;
+        try {
+            recurrence = RecurrenceScheduleType.valueOf(scanRecurrence);
+        } catch (IllegalArgumentException e) {
+            throw new RoomShareException(ExceptionType.loadError);
+        }
+
+        String user = record.field(6);
+
+        String scanIsFixedDuration = record.field(7);
+        boolean isFixedDuration = scanIsFixedDuration.equals("F");
+
+        String scanDuration = record.field(8);
+        int duration = 0;
+        try {
+            duration = Integer.parseInt(scanDuration);
+        } catch (NumberFormatException e) {
+            throw new RoomShareException(ExceptionType.loadError);
+        }
+
+        String scanUnit = record.field(9);
+        TimeUnit unit = null;
+        try {
+            unit = TimeUnit.valueOf(scanUnit);
+        } catch (IllegalArgumentException e) {
+            throw new RoomShareException(ExceptionType.loadError);
+        }
+        // subtasks are kept as raw bytes and only decoded when they are accessed
+        byte[] scanSubTask = NO_SUBTASKS;
+        if (record.fieldCount() > 10) {
+            scanSubTask = record.fieldBytes(10);
+        }
+        Task task = createTask(type, done, priority, description, from, to, date, recurrence, user,
+                isFixedDuration, duration, unit, scanSubTask);
+        if (record.fieldCount() > ID_FIELD) {
+            try {
+                task.setId(Long.parseUnsignedLong(record.field(ID_FIELD), 16));
+            } catch (NumberFormatException e) {
+                throw new RoomShareException(ExceptionType.loadError);
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Creates a Task from the fields of a line of the data file.
+     *
+     * @return the Task that the fields describe
+     * @throws RoomShareException If the fields describe an invalid task.
+     */
+    private Task createTask(SaveType type, boolean done, Priority priority, String description, Date from, Date to,
+                            Date date, RecurrenceScheduleType recurrence, String user, boolean isFixedDuration,
+                            int duration, TimeUnit unit, byte[] scanSubTask) throws RoomShareException {
+
+        if (type.equals(SaveType.A)) {
+            // Assignment type
+            Assignment assignment = new Assignment(description, date);
+            assignment.setPriority(priority);
+            assignment.setAssignee(user);
+            assignment.setRecurrenceSchedule(recurrence);
+            assignment.setDone(done);
+            if (scanSubTask.length > 0) {
+                assignment.setEncodedSubTasks(scanSubTask);
+            }
+            return assignment;
+        } else if (type.equals(SaveType.L)) {
+            //Leave type
+            Leave leave = new Leave(description, user, from, to);
+            leave.setPriority(priority);
+            leave.setRecurrenceSchedule(recurrence);
+            return leave;
+        } else {
+            //Meeting type
+            if (isFixedDuration) {
+                Meeting meeting = new Meeting(description, date, duration, unit);
+                meeting.setPriority(priority);
+                meeting.setAssignee(user);
+                meeting.setRecurrenceSchedule(recurrence);
+                meeting.setDone(done);
+                return meeting;
+            } else {
+                Meeting meeting = new Meeting(description, date);
+                meeting.setRecurrenceSchedule(recurrence);
+                meeting.setPriority(priority);
+                meeting.setAssignee(user);
+                meeting.setDone(done);
+                return meeting;
             }
-        } catch (IOException | IndexOutOfBoundsException e) {
-            throw new RoomShareException(ExceptionType.wrongFormat);
         }
-        return (taskArrayList);
     }
 
     /**
@@ -184,95 +542,386 @@ public class Storage {
      * @throws RoomShareException If there are parsing errors in the ArrayList.
      */
     public void writeFile(ArrayList<Task> list, String fileName) throws RoomShareException {
+        writeText(toSnapshot(list, ListSnapshot.NO_VERSION), fileName);
+    }
+
+    /**
+     * Rewrites a file with a task list, unless the list has not been modified since it was last written to the file.
+     *
+     * @param list ArrayList of Tasks to be stored in the file
+     * @param fileName name of the file to be written
+     * @param version modification count of the list
+     * @throws RoomShareException If there are parsing errors in the ArrayList.
+     */
+    public void writeFile(ArrayList<Task> list, String fileName, long version) throws RoomShareException {
+        ListSnapshot snapshot = snapshot(list, fileName, version);
+        if (snapshot != null) {
+            writeSnapshot(snapshot, fileName);
+        }
+    }
+
+    /**
+     * Takes a snapshot of a task list to be written to a file, unless the list has not been modified
+     * since it was last written to the file. The tasks are converted into the lines they are stored as,
+     * so the snapshot can be written after the list has changed again.
+     *
+     * @param list ArrayList of Tasks to be stored in the file
+     * @param fileName name of the file the snapshot is to be written to
+     * @param version modification count of the list
+     * @return the snapshot, or null if the list has not been modified since it was last written
+     * @throws RoomShareException If there are parsing errors in the ArrayList.
+     */
+    public ListSnapshot snapshot(ArrayList<Task> list, String fileName, long version) throws RoomShareException {
+        Long flushedVersion = flushedVersions.get(fileName);
+        if (flushedVersion != null && flushedVersion == version) {
+            skippedWrites += 1;
+            return null;
+        }
+        return toSnapshot(list, version);
+    }
+
+    /**
+     * Writes a snapshot of a task list to a file, and remembers the version of the list it was taken at.
+     *
+     * @param snapshot the snapshot
+     * @param fileName name of the file to be written
+     * @throws RoomShareException If the file cannot be written.
+     */
+    public void writeSnapshot(ListSnapshot snapshot, String fileName) throws RoomShareException {
+        writeText(snapshot, fileName);
+        flushedVersions.put(fileName, snapshot.getVersion());
+    }
+
+    /**
+     * Converts a task list into a snapshot of the lines it is stored as.
+     *
+     * @param list ArrayList of Tasks to be converted
+     * @param version modification count of the list
+     * @return the snapshot
+     * @throws RoomShareException If there are parsing errors in the ArrayList.
+     */
+    private ListSnapshot toSnapshot(ArrayList<Task> list, long version) throws RoomShareException {
+        long[] ids = new long[list.size()];
+        ArrayList<String> lines = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            ids[i] = list.get(i).getId();
+            lines.add(convertToLine(list.get(i)));
+        }
+        return new ListSnapshot(ids, lines, version);
+    }
+
+    /**
+     * Writes the lines of a snapshot of a task list to a file.
+     * In journaled mode, only the tasks that changed since the last write are appended to the journal,
+     * keyed by their task ID: a changed or new task is upserted with its whole line, and a removed task is
+     * tombstoned by its ID. The journal is compacted back into data.txt once it grows past COMPACTION_THRESHOLD records.
+     *
+     * @param snapshot the snapshot
+     * @param fileName name of the file to be written
+     * @throws RoomShareException If the file cannot be written.
+     */
+    protected void writeText(ListSnapshot snapshot, String fileName) throws RoomShareException {
+        if (!isJournaled || !persistedLines.containsKey(fileName)) {
+            compact(snapshot, fileName);
+            return;
+        }
+        HashMap<Long, String> persisted = persistedLines.get(fileName);
+        HashMap<Long, String> current = new HashMap<>();
+        StringBuilder records = new StringBuilder();
+        int recordCount = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            String out = snapshot.getLine(i);
+            if (current.put(snapshot.getId(i), out) != null) {
+                // the same task is in the list twice, which only a full rewrite can represent
+                compact(snapshot, fileName);
+                return;
+            }
+            if (!out.equals(persisted.get(snapshot.getId(i)))) {
+                records.append(ADD_RECORD).append(out).append("\n");
+                recordCount += 1;
+            }
+        }
+        for (Long id : persisted.keySet()) {
+            if (!current.containsKey(id)) {
+                records.append(REMOVE_RECORD).append(Long.toHexString(id)).append("\n");
+                recordCount += 1;
+            }
+        }
+        if (recordCount == 0) {
+            return;
+        }
+        int journalSize = journalSizes.getOrDefault(fileName, 0);
+        if (journalSize + recordCount >= COMPACTION_THRESHOLD) {
+            compact(snapshot, fileName);
+            return;
+        }
+        File journal = new File(fileName + JOURNAL_EXTENSION);
         try {
-            FileWriter fw = new FileWriter(fileName);
-            BufferedWriter writer = new BufferedWriter(fw);
-            for (Task s : list) {
-                String out = "";
-                String type = String.valueOf(s.toString().charAt(1));
-                String isDone = s.getDone() ? "y" : "n";
-                String priority = s.getPriority().toString();
-                String description = s.getDescription();
-                String date = convertForStorage(s);
-                String recurrence = s.getRecurrenceSchedule().toString();
-                String user = s.getAssignee();
-                if (s instanceof Assignment) {
-                    out = type + "#" + isDone + "#"
-                            + priority + "#" + description + "#"
-                            + date + "#" + recurrence + "#"
-                            + user + "#" + "N" + "#"
-                            + "0" + "#" + "unDefined" + "#";
-                    // Saves sub-tasks
-                    if (!(((Assignment) s).getSubTasks() == null)) {
-                        ArrayList<String> subTasks = ((Assignment) s).getSubTasks();
-                        for (String subTask : subTasks) {
-                            out += subTask + ",";
-                        }
-                    }
-                    out += "#";
-                } else if (s instanceof Leave) {
-                    String leaveDate = convertForStorageLeave(s);
-                    out = type + "#" + isDone + "#"
-                            + priority + "#" + description + "#"
-                            + leaveDate + "#" + recurrence + "#"
-                            + user + "#" + "N" + "#"
-                            + "0" + "#" + "unDefined" + "#" + "#";
-                } else if (s instanceof Meeting) {
-                    if (((Meeting) s).isFixedDuration()) {
-                        String duration = ((Meeting) s).getDuration();
-                        String unit = ((Meeting) s).getTimeUnit().toString();
-                        out = type + "#" + isDone + "#"
-                                + priority + "#" + description + "#"
-                                + date + "#" + recurrence + "#"
-                                + user + "#" + "F" + "#"
-                                + duration + "#" + unit + "#" + "#";
-                    } else {
-                        out = type + "#" + isDone + "#"
-                                + priority + "#" + description + "#"
-                                + date + "#" + recurrence + "#"
-                                + user + "#" + "N" + "#"
-                                + "0" + "#" + "unDefined" + "#" + "#";
-                    }
-                }
+            boolean hasHeader = journalSize > 0 && journal.exists();
+            Writer writer = new OutputStreamWriter(new FileOutputStream(journal, hasHeader), StandardCharsets.UTF_8);
+            if (!hasHeader) {
+                writer.write(JOURNAL_HEADER + Long.toHexString(snapshotChecksums.get(fileName)) + "\n");
+            }
+            writer.write(records.toString());
+            writer.close();
+        } catch (IOException e) {
+            throw new RoomShareException(ExceptionType.writeError);
+        }
+        journalSizes.put(fileName, journalSize + recordCount);
+        persistedLines.put(fileName, current);
+    }
+
+    /**
+     * Returns the number of writes that were skipped because the list had not been modified.
+     * @return the number of skipped writes
+     */
+    public int getSkippedWrites() {
+        return skippedWrites;
+    }
+
+    /**
+     * Folds the journal of a file back into a snapshot.
+     * Rewrites the whole file with the task list and discards the journal that it replaces.
+     *
+     * @param list ArrayList of Tasks to be stored in the file
+     * @param fileName name of the file to be rewritten
+     * @throws RoomShareException If there are parsing errors in the ArrayList.
+     */
+    public void compact(ArrayList<Task> list, String fileName) throws RoomShareException {
+        compact(toSnapshot(list, ListSnapshot.NO_VERSION), fileName);
+    }
+
+    /**
+     * Rewrites a file with the lines of a snapshot of a task list, and discards the journal that it replaces.
+     * The file is written to a temporary file first, ending with a line holding the CRC32 checksum of the lines
+     * before it. Once the temporary file is on disk it replaces the file, which is kept as the previous generation.
+     *
+     * @param snapshot the snapshot
+     * @param fileName name of the file to be rewritten
+     * @throws RoomShareException If the file cannot be written.
+     */
+    private void compact(ListSnapshot snapshot, String fileName) throws RoomShareException {
+        HashMap<Long, String> current = new HashMap<>();
+        File temp = new File(fileName + TEMP_EXTENSION);
+        try {
+            FileOutputStream fileOutputStream = new FileOutputStream(temp);
+            CheckedOutputStream checkedOutputStream = new CheckedOutputStream(fileOutputStream, new CRC32());
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(checkedOutputStream, StandardCharsets.UTF_8));
+            for (int i = 0; i < snapshot.size(); i++) {
+                String out = snapshot.getLine(i);
+                current.put(snapshot.getId(i), out);
                 writer.write(out);
                 writer.newLine();
             }
+            writer.flush();
+            writer.write(CHECKSUM_TRAILER + Long.toHexString(checkedOutputStream.getChecksum().getValue()));
+            writer.newLine();
+            writer.flush();
+            fileOutputStream.getChannel().force(true);
             writer.close();
+            replaceFile(temp, fileName);
+            if (isJournaled) {
+                // a journal left behind by a crash no longer matches this snapshot's checksum
+                snapshotChecksums.put(fileName, checkedOutputStream.getChecksum().getValue());
+                new File(fileName + JOURNAL_EXTENSION).delete();
+                journalSizes.put(fileName, 0);
+                persistedLines.put(fileName, current);
+            }
         } catch (IOException | ArrayIndexOutOfBoundsException e) {
             throw new RoomShareException(ExceptionType.writeError);
         }
     }
 
     /**
-     * Create a new text file and write all information of the current task list to it.
+     * Replaces a file with a temporary file that has been fully written.
+     * The file is kept as the previous generation, and the temporary file is then renamed over the file
+     * atomically where the file system supports it, so a reader never sees a partially written file.
+     *
+     * @param temp temporary file holding the new contents
+     * @param fileName name of the file to be replaced
+     * @throws IOException If the file cannot be replaced.
+     */
+    protected static void replaceFile(File temp, String fileName) throws IOException {
+        Path target = Paths.get(fileName);
+        if (Files.exists(target)) {
+            Files.move(target, Paths.get(fileName + BACKUP_EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+        }
+        try {
+            Files.move(temp.toPath(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads the records of the journal of a file.
+     * Each record either upserts the line of a task or tombstones a task, by task ID.
+     * Only the last record of each task is kept, at the position of the first record of that task,
+     * with a tombstone kept as a null line so that it can drop the task from the snapshot.
+     * The journal is ignored if it was written against a different snapshot, and a
+     * partially written record at the end of the journal is dropped.
+     *
+     * @param fileName name of the snapshot file
+     * @param checksum CRC32 checksum of the snapshot file
+     * @param records latest line of each task in the journal, by task ID
+     * @throws IOException If the journal cannot be read or has a malformed record.
+     */
+    private void readJournal(String fileName, long checksum, LinkedHashMap<Long, String> records)
+            throws IOException {
+        int recordCount = 0;
+        File journal = new File(fileName + JOURNAL_EXTENSION);
+        if (journal.exists()) {
+            String content = new String(Files.readAllBytes(journal.toPath()), StandardCharsets.UTF_8);
+            String[] lines = content.substring(0, content.lastIndexOf('\n') + 1).split("\n");
+            if (lines[0].equals(JOURNAL_HEADER + Long.toHexString(checksum))) {
+                try {
+                    for (int i = 1; i < lines.length; i++) {
+                        String value = lines[i].substring(1);
+                        if (lines[i].startsWith(ADD_RECORD)) {
+                            TaskRecord record = TaskRecord.of(value);
+                            if (record.fieldCount() <= ID_FIELD) {
+                                throw new IOException("Journal record has no task ID");
+                            }
+                            records.put(Long.parseUnsignedLong(record.field(ID_FIELD), 16), value);
+                        } else {
+                            records.put(Long.parseUnsignedLong(value, 16), null);
+                        }
+                        recordCount += 1;
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IOException("Journal record has a malformed task ID");
+                }
+            }
+        }
+        journalSizes.put(fileName, recordCount);
+    }
+
+    /**
+     * Formats a task into a single line that the loadFile() method is able to understand.
+     * The last field of the line is the ID of the task, in hexadecimal.
+     *
+     * @param s task to be formatted
+     * @return the line representing the task in the data file
+     * @throws RoomShareException If there are parsing errors in the task.
+     */
+    private String convertToLine(Task s) throws RoomShareException {
+        String out = "";
+        String type = String.valueOf(s.toString().charAt(1));
+        String isDone = s.getDone() ? "y" : "n";
+        String priority = s.getPriority().toString();
+        String description = s.getDescription();
+        String date = convertForStorage(s);
+        String recurrence = s.getRecurrenceSchedule().toString();
+        String user = s.getAssignee();
+        if (s instanceof Assignment) {
+            out = type + "#" + isDone + "#"
+                    + priority + "#" + description + "#"
+                    + date + "#" + recurrence + "#"
+                    + user + "#" + "N" + "#"
+                    + "0" + "#" + "unDefined" + "#";
+            // Saves sub-tasks
+            out += ((Assignment) s).getSubTaskField() + "#";
+        } else if (s instanceof Leave) {
+            String leaveDate = convertForStorageLeave(s);
+            out = type + "#" + isDone + "#"
+                    + priority + "#" + description + "#"
+                    + leaveDate + "#" + recurrence + "#"
+                    + user + "#" + "N" + "#"
+                    + "0" + "#" + "unDefined" + "#" + "#";
+        } else if (s instanceof Meeting) {
+            if (((Meeting) s).isFixedDuration()) {
+                String duration = ((Meeting) s).getDuration();
+                String unit = ((Meeting) s).getTimeUnit().toString();
+                out = type + "#" + isDone + "#"
+                        + priority + "#" + description + "#"
+                        + date + "#" + recurrence + "#"
+                        + user + "#" + "F" + "#"
+                        + duration + "#" + unit + "#" + "#";
+            } else {
+                out = type + "#" + isDone + "#"
+                        + priority + "#" + description + "#"
+                        + date + "#" + recurrence + "#"
+                        + user + "#" + "N" + "#"
+                        + "0" + "#" + "unDefined" + "#" + "#";
+            }
+        }
+        return out + Long.toHexString(s.getId());
+    }
+
+    /**
+     * Appends a compressed snapshot of the current task list to the log archive.
      * @param list the current task list
+     * @return the path of the archive segment holding the snapshot
      * @throws RoomShareException when there is an error in writing the log file
      */
     public String writeLogFile(ArrayList<Task> list) throws RoomShareException {
-        String fileName = "log " + new Date().toString() + ".txt";
-        fileName = fileName.replaceAll(" ", "_").replaceAll(":","_");
-        String filePath = "logs\\" + fileName;
-        String folderName = "logs";
-        try {
-            File file = new File(filePath);
-            File folder = new File(folderName);
-            if (!folder.exists()) folder.mkdir();
-            file.createNewFile();
-            PrintWriter writer = new PrintWriter(filePath, StandardCharsets.UTF_8);
-            for (Task t : list) {
-                writer.println(t.toString());
-            }
-            writer.close();
-        } catch (IOException e) {
-            throw new RoomShareException(ExceptionType.logError);
+        return getLogArchive().append(list);
+    }
+
+    /**
+     * Returns the log archive, opening it on first use.
+     * @return the log archive in the logs folder
+     * @throws RoomShareException when the index of the archive cannot be read
+     */
+    public LogArchive getLogArchive() throws RoomShareException {
+        if (logArchive == null) {
+            logArchive = new LogArchive(this, LOG_DIRECTORY);
         }
-        return filePath;
+        return logArchive;
+    }
+
+    /**
+     * Writes a task list as lines of the data file format.
+     *
+     * @param list ArrayList of Tasks to be written
+     * @param writer writer the lines are written to
+     * @throws IOException If the lines cannot be written.
+     * @throws RoomShareException If there are parsing errors in the ArrayList.
+     */
+    void writeLines(ArrayList<Task> list, Writer writer) throws IOException, RoomShareException {
+        for (Task s : list) {
+            writer.write(convertToLine(s));
+            writer.write("\n");
+        }
+    }
+
+    /**
+     * Reads a task list from lines of the data file format.
+     *
+     * @param reader reader the lines are read from
+     * @return the tasks of the lines
+     * @throws IOException If the lines cannot be read.
+     * @throws RoomShareException If the lines have mistakes in formatting.
+     */
+    ArrayList<Task> readLines(BufferedReader reader) throws IOException, RoomShareException {
+        ArrayList<Task> taskArrayList = new ArrayList<>();
+        Parser parser = new Parser();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            taskArrayList.add(parseRecord(TaskRecord.of(line), parser));
+        }
+        return taskArrayList;
+    }
+
+    /**
+     * Reads the task list back from a snapshot.
+     *
+     * @param snapshot the snapshot
+     * @return the tasks of the snapshot
+     * @throws RoomShareException If the lines of the snapshot have mistakes in formatting.
+     */
+    ArrayList<Task> parseSnapshot(ListSnapshot snapshot) throws RoomShareException {
+        ArrayList<Task> taskArrayList = new ArrayList<>(snapshot.size());
+        Parser parser = new Parser();
+        for (int i = 0; i < snapshot.size(); i++) {
+            taskArrayList.add(parseRecord(TaskRecord.of(snapshot.getLine(i)), parser));
+        }
+        return taskArrayList;
     }
 
     /**
      * Extracts and converts all the information in the task object for storage
      * will format the time information for meeting and assignment tasks
-     * Additional formatting will be done for recurring tasks to include recurrence schedule
      * returns a string with all the relevant information.
      *
      * @param task task object to be converted
@@ -280,21 +929,7 @@ public class Storage {
      * @throws RoomShareException If there is any error in parsing the Date information.
      */
     public String convertForStorage(Task task) throws RoomShareException {
-        try {
-            String time = "";
-            String[] prelimSplit = task.toString().split("\\(");
-            String[] tempString = prelimSplit[2].split("\\s+");
-            String year = tempString[6].substring(0, tempString[6].length() - 1);
-            Date date = new SimpleDateFormat("MMM").parse(tempString[2]);
-            DateFormat dateFormat = new SimpleDateFormat("MM");
-            String month = dateFormat.format(date);
-            String[] timeArray = tempString[4].split(":", 3);
-            String day = tempString[3];
-            time = day + "/" + month + "/" + year + " " + timeArray[0] + ":" + timeArray[1];
-            return time;
-        } catch (ParseException e) {
-            throw new RoomShareException(ExceptionType.wrongFormat);
-        }
+        return formatDate(task.getDate());
     }
 
     /**
@@ -306,36 +941,105 @@ public class Storage {
      * @throws RoomShareException If there is any error in parsing the Date information.
      */
     public String convertForStorageLeave(Task task) throws RoomShareException {
+        Leave leave = (Leave) task;
+        return formatDate(leave.getStartDate()) + "-" + formatDate(leave.getEndDate());
+    }
+
+    /**
+     * Formats a date in the dd/MM/yyyy HH:mm format of the data file.
+     * Works on the epoch value of the date directly instead of going through a SimpleDateFormat.
+     *
+     * @param date date to be formatted
+     * @return the date in dd/MM/yyyy HH:mm format, in the default time zone
+     */
+    public static String formatDate(Date date) {
+        long epoch = date.getTime();
+        long local = epoch + TimeZone.getDefault().getOffset(epoch);
+        long days = Math.floorDiv(local, MILLISECONDS_PER_DAY);
+        int minuteOfDay = (int) (Math.floorMod(local, MILLISECONDS_PER_DAY) / MILLISECONDS_PER_MINUTE);
+        // civil date from the number of days since 1970-01-01, in 400-year eras starting on 1 March
+        long shifted = days + 719468;
+        long era = Math.floorDiv(shifted, 146097);
+        long dayOfEra = shifted - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return new SimpleDateFormat("dd/MM/yyyy HH:mm").format(date);
+        }
+        char[] out = new char[16];
+        writeDigits(out, 0, day, 2);
+        out[2] = '/';
+        writeDigits(out, 3, month, 2);
+        out[5] = '/';
+        writeDigits(out, 6, (int) year, 4);
+        out[10] = ' ';
+        writeDigits(out, 11, minuteOfDay / 60, 2);
+        out[13] = ':';
+        writeDigits(out, 14, minuteOfDay % 60, 2);
+        return new String(out);
+    }
+
+    /**
+     * Parses a date in the exact dd/MM/yyyy HH:mm format written by formatDate().
+     *
+     * @param date date in dd/MM/yyyy HH:mm format
+     * @return the parsed date, in the default time zone
+     * @throws RoomShareException If the date is not in the exact format or is not a valid date.
+     */
+    public static Date parseDate(String date) throws RoomShareException {
+        if (date.length() != 16 || date.charAt(2) != '/' || date.charAt(5) != '/'
+                || date.charAt(10) != ' ' || date.charAt(13) != ':') {
+            throw new RoomShareException(ExceptionType.wrongDateFormat);
+        }
+        int day = readDigits(date, 0, 2);
+        int month = readDigits(date, 3, 2);
+        int year = readDigits(date, 6, 4);
+        int hour = readDigits(date, 11, 2);
+        int minute = readDigits(date, 14, 2);
         try {
-            String time;
-            String[] prelimSplit = task.toString().split("\\(");
-            String[] tempString = prelimSplit[2].split("\\s+");
-
-            String fromYear = tempString[6].trim();
-            String toYear = tempString[13].trim().substring(0, tempString[13].length() -1);
-
-            Date fromMonth = new SimpleDateFormat("MMM").parse(tempString[2]);
-            DateFormat dateFormatFromMonth = new SimpleDateFormat("MM");
-            String fromMth = dateFormatFromMonth.format(fromMonth);
-            Date toMonth = new SimpleDateFormat("MMM").parse(tempString[9]);
-            DateFormat dateFormatToMonth = new SimpleDateFormat("MM");
-            String toMth = dateFormatToMonth.format(toMonth);
-
-            String[] fromTimeArray = tempString[4].split(":", 3);
-            String[] toTimeArray = tempString[11].split(":", 3);
-
-            String fromDay = tempString[3];
-            String toDay = tempString[10];
-
-            time = fromDay + "/" + fromMth + "/" + fromYear
-                    + " " + fromTimeArray[0] + ":" + fromTimeArray[1] + "-"
-                    + toDay + "/" + toMth + "/" + toYear
-                    + " " + toTimeArray[0] + ":" + toTimeArray[1];
-            return time;
-        } catch (ParseException e) {
-            throw new RoomShareException(ExceptionType.wrongFormat);
+            LocalDateTime localDateTime = LocalDateTime.of(year, month, day, hour, minute);
+            return new Date(localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        } catch (DateTimeException e) {
+            throw new RoomShareException(ExceptionType.wrongDateFormat);
         }
     }
-}
 
+    /**
+     * Parses a date from the data file, falling back to the Parser for dates that were not written by formatDate().
+     *
+     * @param date date from the data file
+     * @param parser parser used for dates in other formats
+     * @return the parsed date
+     * @throws RoomShareException If the date cannot be interpreted.
+     */
+    private static Date parseStoredDate(String date, Parser parser) throws RoomShareException {
+        try {
+            return parseDate(date);
+        } catch (RoomShareException e) {
+            return parser.formatDateDDMMYY(date);
+        }
+    }
+
+    private static void writeDigits(char[] out, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
 
+    private static int readDigits(String date, int offset, int width) throws RoomShareException {
+        int value = 0;
+        for (int i = offset; i < offset + width; i++) {
+            char digit = date.charAt(i);
+            if (digit < '0' || digit > '9') {
+                throw new RoomShareException(ExceptionType.wrongDateFormat);
+            }
+            value = value * 10 + (digit - '0');
+        }
+        return value;
+    }
+}
@@ -333,8 +333,8 @@ public class TaskCreator {
         String description = this.extractDescription(input);
 
         // check for duplicates and time clashes
-        int duplicateCheck;
-        int timeClashCheck;
+        Task duplicate;
+        Task timeClash;
 
         // extract date
         ArrayList<Date> dates = this.extractDate(input);
@@ -373,11 +373,11 @@ public class TaskCreator {
                 TaskReminder taskReminder = new TaskReminder(description, duration);
                 taskReminder.start();
             }
-            duplicateCheck = CheckAnomaly.checkDuplicate(assignment);
-            if (duplicateCheck == -1) {
+            duplicate = CheckAnomaly.findDuplicate(assignment);
+            if (duplicate == null) {
                 return assignment;
             } else {
-                throw new DuplicateException(duplicateCheck);
+                throw new DuplicateException(TaskList.indexOf(duplicate));
             }
         } else if (type.equals("leave")) {
             String user;
@@ -390,11 +390,11 @@ public class TaskCreator {
             Leave leave = new Leave(description, user, from, to);
             leave.setPriority(priority);
             leave.setRecurrenceSchedule(recurrence);
-            duplicateCheck = CheckAnomaly.checkDuplicate(leave);
-            if (duplicateCheck == -1) {
+            duplicate = CheckAnomaly.findDuplicate(leave);
+            if (duplicate == null) {
                 return leave;
             } else {
-                throw new DuplicateException(duplicateCheck);
+                throw new DuplicateException(TaskList.indexOf(duplicate));
             }
         } else if (type.equals("meeting")) {
             if (remind) {
@@ -406,16 +406,16 @@ public class TaskCreator {
                     meeting.setRecurrenceSchedule(recurrence);
                     TaskReminder taskReminder = new TaskReminder(description, duration);
                     taskReminder.start();
-                    duplicateCheck = CheckAnomaly.checkDuplicate(meeting);
-                    if (duplicateCheck == -1) {
-                        timeClashCheck = CheckAnomaly.checkTimeClash(meeting);
-                        if (timeClashCheck == -1) {
+                    duplicate = CheckAnomaly.findDuplicate(meeting);
+                    if (duplicate == null) {
+                        timeClash = CheckAnomaly.findTimeClash(meeting);
+                        if (timeClash == null) {
                             return meeting;
                         } else {
-                            throw new TimeClashException(timeClashCheck);
+                            throw new TimeClashException(TaskList.indexOf(timeClash));
                         }
                     } else {
-                        throw new DuplicateException(duplicateCheck);
+                        throw new DuplicateException(TaskList.indexOf(duplicate));
                     }
 
                 } else {
@@ -425,16 +425,16 @@ public class TaskCreator {
                     meeting.setRecurrenceSchedule(recurrence);
                     TaskReminder taskReminder = new TaskReminder(description, duration);
                     taskReminder.start();
-                    duplicateCheck = CheckAnomaly.checkDuplicate(meeting);
-                    if (duplicateCheck == -1) {
-                        timeClashCheck = CheckAnomaly.checkTimeClash(meeting);
-                        if (timeClashCheck == -1) {
+                    duplicate = CheckAnomaly.findDuplicate(meeting);
+                    if (duplicate == null) {
+                        timeClash = CheckAnomaly.findTimeClash(meeting);
+                        if (timeClash == null) {
                             return meeting;
                         } else {
-                            throw new TimeClashException(timeClashCheck);
+                            throw new TimeClashException(TaskList.indexOf(timeClash));
                         }
                     } else {
-                        throw new DuplicateException(duplicateCheck);
+                        throw new DuplicateException(TaskList.indexOf(duplicate));
                     }
                 }
             } else {
@@ -444,32 +444,32 @@ public class TaskCreator {
                     meeting.setPriority(priority);
                     meeting.setAssignee(assignee);
                     meeting.setRecurrenceSchedule(recurrence);
-                    duplicateCheck = CheckAnomaly.checkDuplicate(meeting);
-                    if (duplicateCheck == -1) {
-                        timeClashCheck = CheckAnomaly.checkTimeClash(meeting);
-                        if (timeClashCheck == -1) {
+                    duplicate = CheckAnomaly.findDuplicate(meeting);
+                    if (duplicate == null) {
+                        timeClash = CheckAnomaly.findTimeClash(meeting);
+                        if (timeClash == null) {
                             return meeting;
                         } else {
-                            throw new TimeClashException(timeClashCheck);
+                            throw new TimeClashException(TaskList.indexOf(timeClash));
                         }
                     } else {
-                        throw new DuplicateException(duplicateCheck);
+                        throw new DuplicateException(TaskList.indexOf(duplicate));
                     }
                 } else {
                     Meeting meeting = new Meeting(description, date, duration, unit);
                     meeting.setPriority(priority);
                     meeting.setAssignee(assignee);
                     meeting.setRecurrenceSchedule(recurrence);
-                    duplicateCheck = CheckAnomaly.checkDuplicate(meeting);
-                    if (duplicateCheck == -1) {
-                        timeClashCheck = CheckAnomaly.checkTimeClash(meeting);
-                        if (timeClashCheck == -1) {
+                    duplicate = CheckAnomaly.findDuplicate(meeting);
+                    if (duplicate == null) {
+                        timeClash = CheckAnomaly.findTimeClash(meeting);
+                        if (timeClash == null) {
                             return meeting;
                         } else {
-                            throw new TimeClashException(timeClashCheck);
+                            throw new TimeClashException(TaskList.indexOf(timeClash));
                         }
                     } else {
-                        throw new DuplicateException(duplicateCheck);
+                        throw new DuplicateException(TaskList.indexOf(duplicate));
                     }
                 }
             }
@@ -484,6 +484,7 @@ public class TaskCreator {
      * @param oldTask the task to be updated
      */
     public void updateTask(String input, Task oldTask) throws RoomShareException {
+        TaskList.markUpdating(oldTask);
         boolean isNotUpdated = true;
         boolean isSetToEveryone = false;
         try {
@@ -557,6 +558,7 @@ public class TaskCreator {
             oldTask.setRecurrenceSchedule(recurrence);
             isNotUpdated = false;
         }
+        TaskList.markUpdated();
 
         // check if any field was updated at all
         if (isNotUpdated) {
@@ -576,6 +578,7 @@ public class TaskCreator {
      */
     public void rescheduleTask(String input, Task overdueTask) throws RoomShareException {
         ArrayList<Date> dates = this.extractDate(input);
+        OverdueList.markModified();
         if (overdueTask instanceof Leave && dates.size() == 2) {
             Leave oldLeave = (Leave) overdueTask;
             Date start = dates.get(0);
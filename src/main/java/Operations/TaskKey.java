@@ -0,0 +1,49 @@
+package Operations;
+
+import Model_Classes.Task;
+
+/**
+ * The fields that make two tasks duplicates of each other: their type, description, assignee and date.
+ * Dates are compared to the minute, the precision they are entered with.
+ * A key is taken from the state of a task when it is made, so it does not follow later changes to the task.
+ */
+class TaskKey {
+    private static final long MILLISECONDS_PER_MINUTE = 60 * 1000;
+    private Class<?> type;
+    private String description;
+    private int assigneeId;
+    private long minute;
+
+    /**
+     * Constructor for the TaskKey class.
+     * @param task the task to take the key of
+     */
+    TaskKey(Task task) {
+        type = task.getClass();
+        description = task.getDescription();
+        assigneeId = task.getAssigneeId();
+        minute = Math.floorDiv(task.getDate().getTime(), MILLISECONDS_PER_MINUTE);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TaskKey)) {
+            return false;
+        }
+        TaskKey key = (TaskKey) other;
+        return type == key.type && assigneeId == key.assigneeId && minute == key.minute
+                && description.equals(key.description);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = type.hashCode();
+        hash = 31 * hash + description.hashCode();
+        hash = 31 * hash + assigneeId;
+        hash = 31 * hash + Long.hashCode(minute);
+        return hash;
+    }
+}
@@ -5,23 +5,54 @@ import Enums.ExceptionType;
 import Enums.Priority;
 import Enums.SortType;
 import Enums.TimeUnit;
+import Model_Classes.Assignees;
 import Model_Classes.Assignment;
 import Model_Classes.Leave;
 import Model_Classes.Meeting;
 import Model_Classes.Task;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
  * A class to perform operations on the task list in Duke.
+ * Tasks are stored in the order they were added in, and are shown in the order of the current sort mode
+ * through a sort view kept for each sort mode, so indexes given by the user refer to the current sort view.
+ * Each task has a rank that follows the stored order, which orders the tasks that are equal in a sort mode.
+ * Reordering two tasks swaps their ranks and their stored positions, so the new order is saved with the list.
  */
 public class TaskList {
     public static final String COMPLETED_TASKS = "Completed Tasks:";
     public static final String YOUR_SEARCH_RETURNED_NO_RESULTS_TRY_SEARCHING_WITH_ANOTHER_KEYWORD = "    Your search returned no results.... Try searching with another keyword!";
+    public static final String NO_EXACT_MATCHES_SHOWING_THE_CLOSEST_MATCHES = "    No exact matches... Showing the closest matches instead:";
+    private static final int FUZZY_RESULT_LIMIT = 10;
     private static ArrayList<Task> tasks;
     private static SortType sortType = SortType.priority;
+    private static long modificationCount = 0;
+    private static HashMap<Long, Task> idIndex = new HashMap<>();
+    private static long indexedModificationCount = -1;
+    private static EnumMap<SortType, SortView> views = new EnumMap<>(SortType.class);
+    private static SortView expiries = new SortView(TaskList::getExpiry);
+    private static ArrayList<SortView> indexes = new ArrayList<>();
+    private static TokenIndex words = new TokenIndex();
+    private static ClashIndex schedules = new ClashIndex();
+    private static DuplicateIndex duplicates = new DuplicateIndex();
+    private static Task updatingTask = null;
+    private static long nextRank = 0;
+
+    static {
+        for (SortType type : SortType.values()) {
+            views.put(type, new SortView(type));
+        }
+        indexes.addAll(views.values());
+        indexes.add(expiries);
+    }
 
     /**
      * Constructor for the TaskList class.
@@ -30,6 +61,7 @@ public class TaskList {
      */
     public TaskList(ArrayList<Task> tasks) {
         TaskList.tasks = tasks;
+        markModified();
     }
 
     /**
@@ -37,8 +69,16 @@ public class TaskList {
      * @param newTask Task object to be added into the list of tasks
      */
     public void add(Task newTask) {
+        markUpdated();
+        newTask.setRank(nextRank++);
         tasks.add(newTask);
-        sortTasks();
+        for (SortView view : indexes) {
+            view.insert(newTask);
+        }
+        words.add(newTask);
+        schedules.add(newTask);
+        duplicates.add(newTask);
+        markChanged();
     }
 
     /**
@@ -50,20 +90,22 @@ public class TaskList {
      */
     public void delete(int[] index, TempDeleteList deletedList) throws RoomShareException {
         int[] idx = index.clone();
+        ArrayList<Task> view = view();
         if (idx.length == 1) {
-            if (idx[0] < 0 || idx[0] >= tasks.size()) {
+            if (idx[0] < 0 || idx[0] >= view.size()) {
                 throw new RoomShareException(ExceptionType.outOfBounds);
             }
-            deletedList.add(tasks.get(idx[0]));
-            tasks.remove(idx[0]);
+            deletedList.add(view.get(idx[0]));
+            removeTasks(Collections.singletonList(view.get(idx[0])));
         } else {
-            if (idx[0] < 0 || idx[0] >= tasks.size() || idx[1] < 0 || idx[1] >= tasks.size()) {
+            if (idx[0] < 0 || idx[0] >= view.size() || idx[1] < 0 || idx[1] >= view.size()) {
                 throw new RoomShareException(ExceptionType.outOfBounds);
             }
-            for (int i = idx[0]; idx[1] >= idx[0]; idx[1]--) {
-                deletedList.add(tasks.get(i));
-                tasks.remove(i);
+            ArrayList<Task> deleted = new ArrayList<>(view.subList(idx[0], Math.max(idx[0], idx[1] + 1)));
+            for (Task task : deleted) {
+                deletedList.add(task);
             }
+            removeTasks(deleted);
         }
     }
 
@@ -74,27 +116,10 @@ public class TaskList {
      * @throws RoomShareException when the list is empty
      */
     public void list(OverdueList overdueList) throws RoomShareException {
-        sortTasks();
         if (tasks.size() != 0) {
             int listCount = 1;
-            for (int i = 0; i < tasks.size(); i++) {
-                if (new Date().after(tasks.get(i).getDate()) && !(tasks.get(i) instanceof Leave)) {
-                    tasks.get(i).setOverdue(true);
-                    if (!CheckAnomaly.checkDuplicateOverdue(tasks.get(i))) {
-                        // no duplicates in overdue list
-                        overdueList.add(tasks.get(i));
-                    }
-                    tasks.remove(tasks.get(i));
-                }
-            }
-
-            for (int i = 0; i < tasks.size(); i++) {
-                if (tasks.get(i) instanceof Leave && ((Leave) tasks.get(i)).getEndDate().before(new Date())) {
-                    tasks.remove(tasks.get(i));
-                }
-            }
 
-            for (Task output : tasks) {
+            for (Task output : view()) {
                 if (!output.getDone()) {
                     Priority priority = output.getPriority();
                     String priorityLvl;
@@ -123,16 +148,84 @@ public class TaskList {
         }
     }
 
+    /**
+     * Moves the tasks whose dates have passed into the overdue list, and drops leaves that have ended.
+     * @param overdueList the overdue list to move the overdue tasks into
+     */
+    public void sweepOverdue(OverdueList overdueList) {
+        removeExpired(markOverdue(overdueList, System.currentTimeMillis()));
+    }
+
+    /**
+     * Marks the tasks whose dates have passed as overdue and adds them to the overdue list,
+     * but keeps them in the task list, so the indexes of the tasks shown to the user do not change.
+     * The tasks are found by a binary search of an index of the tasks ordered by when they expire.
+     * @param overdueList the overdue list to add the overdue tasks to
+     * @param time the current time in milliseconds since the epoch
+     * @return the tasks that have expired and not been marked before, including leaves that have ended
+     */
+    public ArrayList<Task> markOverdue(OverdueList overdueList, long time) {
+        markUpdated();
+        ArrayList<Task> expired = new ArrayList<>();
+        for (Task task : expiries.before(tasks, time)) {
+            if (!(task instanceof Leave)) {
+                if (task.getOverdue()) {
+                    continue;
+                }
+                task.setOverdue(true);
+                if (!CheckAnomaly.checkDuplicateOverdue(task)) {
+                    // no duplicates in overdue list
+                    overdueList.add(task);
+                }
+            }
+            expired.add(task);
+        }
+        return expired;
+    }
+
+    /**
+     * Removes tasks that have expired from the task list together, in a single pass over the list.
+     * Tasks that are no longer in the list are ignored.
+     * @param expired the expired tasks
+     */
+    public void removeExpired(Collection<Task> expired) {
+        if (!expired.isEmpty()) {
+            removeTasks(expired);
+        }
+    }
+
+    /**
+     * Returns the time the earliest task of the list expires at, from a time on,
+     * found by a binary search of the index of the tasks ordered by when they expire.
+     * @param from the time in milliseconds since the epoch, tasks expiring before it are skipped
+     * @return time in milliseconds since the epoch, or Long.MAX_VALUE if no task expires from the time on
+     */
+    static long getNextExpiry(long from) {
+        markUpdated();
+        return expiries.first(tasks, from);
+    }
+
+    /**
+     * Returns the time a task expires at: when a leave ends, or when any other task becomes overdue.
+     * @param task the task
+     * @return time in milliseconds since the epoch
+     */
+    public static long getExpiry(Task task) {
+        if (task instanceof Leave) {
+            return ((Leave) task).getEndDate().getTime();
+        }
+        return task.getDate().getTime();
+    }
+
     /**
      * Lists out completed tasks in the list.
      * @throws RoomShareException when there are no completed tasks
      */
     public void showCompleted() throws RoomShareException {
-        sortTasks();
         System.out.println(COMPLETED_TASKS);
         if (tasks.size() != 0) {
             int listCount = 1;
-            for (Task output : tasks) {
+            for (Task output : view()) {
                 if (output.getDone()) {
                     System.out.println("\t" + listCount + ". " + output.toString());
                     if (output instanceof Assignment && (((Assignment) output).getSubTasks() != null)) {
@@ -156,18 +249,23 @@ public class TaskList {
      * @throws RoomShareException If the index cannot be found in the list of tasks.
      */
     public void done(int[] index) throws RoomShareException {
+        ArrayList<Task> view = view();
         if (index.length == 1) {
-            if (index[0] < 0 || index[0] >= tasks.size()) {
+            if (index[0] < 0 || index[0] >= view.size()) {
                 throw new RoomShareException(ExceptionType.outOfBounds);
             }
-            tasks.get(index[0]).setDone(true);
+            Task task = view.get(index[0]);
+            markUpdating(task);
+            task.setDone(true);
+            markUpdated();
         } else {
-            if (index[0] < 0 || index[0] >= tasks.size() || index[1] < 0 || index[1] >= tasks.size()) {
+            if (index[0] < 0 || index[0] >= view.size() || index[1] < 0 || index[1] >= view.size()) {
                 throw new RoomShareException(ExceptionType.outOfBounds);
             }
             for (int i = index[0]; i <= index[1]; i++) {
-                tasks.get(i).setDone(true);
+                view.get(i).setDone(true);
             }
+            markModified();
         }
     }
 
@@ -184,7 +282,9 @@ public class TaskList {
             index = Integer.parseInt(arr[1]) - 1;
             subTaskIndex = Integer.parseInt(arr[2]) - 1;
             if (TaskList.get(index) instanceof Assignment) {
+                markUpdating(TaskList.get(index));
                 ((Assignment) TaskList.get(index)).doneSubtask(subTaskIndex);
+                markUpdated();
             } else {
                 throw new RoomShareException(ExceptionType.subTaskError);
             }
@@ -199,33 +299,232 @@ public class TaskList {
      * @param key Keyword of the search.
      */
     public void find(String key) {
-        int queryCount = 1;
-        for (Task query : tasks) {
-            if (query.toString().toLowerCase().contains(key.trim())) {
-                System.out.println("\t" + queryCount + ". " + query.toString());
-                queryCount += 1;
+        ArrayList<Task> results = search(key);
+        if (results.isEmpty()) {
+            results = searchFuzzy(key, FUZZY_RESULT_LIMIT);
+            if (!results.isEmpty()) {
+                System.out.println(NO_EXACT_MATCHES_SHOWING_THE_CLOSEST_MATCHES);
             }
         }
+        int queryCount = 1;
+        for (Task query : results) {
+            System.out.println("\t" + queryCount + ". " + query.toString());
+            queryCount += 1;
+        }
         if (queryCount == 1) {
             System.out.println(YOUR_SEARCH_RETURNED_NO_RESULTS_TRY_SEARCHING_WITH_ANOTHER_KEYWORD);
         }
     }
 
     /**
-     * Returns the entire ArrayList of tasks.
+     * Returns the tasks with a word starting with each word of a search, in the order of the current sort view.
+     * Words are taken from the description, assignee, subtasks and type of the tasks, and are looked up in an
+     * inverted index kept up to date with the task list, so the list itself is not searched.
+     * @param key words of the search, separated by spaces
+     * @return the matching tasks, or all tasks if the search has no words
+     */
+    public ArrayList<Task> search(String key) {
+        String[] terms = TokenIndex.terms(key);
+        if (terms.length == 0) {
+            return new ArrayList<>(view());
+        }
+        markUpdated();
+        ArrayList<Task> results = words.search(tasks, terms);
+        views.get(sortType).sort(results);
+        return results;
+    }
+
+    /**
+     * Returns the tasks closest to a search, allowing for misspelt words, best match first.
+     * Matches are ranked by how closely their words match the words of the search,
+     * and then by their priority and by how close their dates are to now.
+     * @param key words of the search, separated by spaces
+     * @param limit the largest number of tasks to be returned
+     * @return the closest tasks, best match first
+     */
+    public ArrayList<Task> searchFuzzy(String key, int limit) {
+        String[] terms = TokenIndex.terms(key);
+        if (terms.length == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        markUpdated();
+        return words.searchFuzzy(tasks, terms, limit, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the earliest meeting or leave of the list that clashes with a meeting, without searching the list.
+     * Only the tasks of the assignee of the meeting and the tasks assigned to everyone are checked.
+     * @param meeting the meeting to be checked
+     * @return the earliest clashing task, or null if there is none
+     */
+    static Task findClash(Meeting meeting) {
+        markUpdated();
+        return schedules.findClash(tasks, meeting);
+    }
+
+    /**
+     * Returns the task of the list that is a duplicate of a task, without searching the list.
+     * @param task the task to be checked
+     * @return the duplicate added to the list first, or null if there is none
+     */
+    static Task findDuplicate(Task task) {
+        markUpdated();
+        return duplicates.find(tasks, task);
+    }
+
+    /**
+     * Returns the index of a task in the current sort view, found by a binary search of the view.
+     * @param task the task
+     * @return index of the task, or -1 if it is not in the list
+     */
+    static int indexOf(Task task) {
+        markUpdated();
+        return views.get(sortType).indexOf(tasks, task);
+    }
+
+    /**
+     * Returns the entire ArrayList of tasks, in the order they are stored in.
      * @return tasks The ArrayList of Task objects that is being operated on.
      */
     public static ArrayList<Task> currentList() {
         return tasks;
     }
 
+    /**
+     * Returns the number of modifications made to the task list so far.
+     * The count only ever grows, so an unchanged count means the list has not changed.
+     * @return the modification count of the task list
+     */
+    public static long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Records that the task list or one of its tasks has been modified.
+     * The sort views are sorted again the next time they are used, as the modification is not known,
+     * and the tasks are ranked again in the order they are stored in.
+     */
+    static void markModified() {
+        markUpdated();
+        markChanged();
+        if (tasks != null) {
+            nextRank = 0;
+            for (Task task : tasks) {
+                task.setRank(nextRank++);
+            }
+        }
+        for (SortView view : indexes) {
+            view.invalidate();
+        }
+        words.invalidate();
+        schedules.invalidate();
+        duplicates.invalidate();
+    }
+
+    /**
+     * Records a modification of the task list that the sort views have already been brought up to date with.
+     */
+    private static void markChanged() {
+        modificationCount += 1;
+    }
+
+    /**
+     * Records that a task of the list is about to be modified in place.
+     * Once the modification is done, {@link #markUpdated()} moves the task to its new position in each sort view.
+     * If the modification is cut short, the task is moved the next time a sort view is used instead.
+     * @param task the task to be modified
+     */
+    static void markUpdating(Task task) {
+        markUpdated();
+        updatingTask = task;
+        for (SortView view : indexes) {
+            view.beginUpdate(task);
+        }
+        markChanged();
+    }
+
+    /**
+     * Records that the modification of the task passed to {@link #markUpdating(Task)} is done.
+     * Only that task is moved to its new position in each sort view, instead of sorting the views again.
+     */
+    static void markUpdated() {
+        if (updatingTask != null) {
+            for (SortView view : indexes) {
+                view.reposition(updatingTask);
+            }
+            words.update(updatingTask);
+            schedules.update(updatingTask);
+            duplicates.update(updatingTask);
+            updatingTask = null;
+        }
+    }
+
+    /**
+     * Removes tasks from the task list and from each sort view.
+     * @param removed the tasks to be removed
+     */
+    private static void removeTasks(Collection<Task> removed) {
+        markUpdated();
+        Set<Task> removedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        removedSet.addAll(removed);
+        tasks.removeIf(removedSet::contains);
+        for (SortView view : indexes) {
+            view.remove(removedSet);
+        }
+        for (Task task : removedSet) {
+            words.remove(task);
+            schedules.remove(task);
+            duplicates.remove(task);
+        }
+        markChanged();
+    }
+
+    /**
+     * Returns the tasks in the order of the current sort mode.
+     * @return the current sort view of the tasks
+     */
+    private static ArrayList<Task> view() {
+        markUpdated();
+        return views.get(sortType).order(tasks);
+    }
+
+    /**
+     * Returns the task with an ID, without searching the list.
+     * The ID index is rebuilt on the first lookup after the list has been modified.
+     * @param id ID of the task
+     * @return the task with the ID, or null if there is no such task in the list
+     */
+    public static Task getById(long id) {
+        if (indexedModificationCount != modificationCount || idIndex.size() != tasks.size()) {
+            idIndex.clear();
+            for (Task task : tasks) {
+                idIndex.put(task.getId(), task);
+            }
+            indexedModificationCount = modificationCount;
+        }
+        Task task = idIndex.get(id);
+        return task != null && task.getId() == id ? task : null;
+    }
+
     /**
      * replaces the task at the specified index with a new task.
-     * @param index index of the task to be replaced
+     * @param index index of the task to be replaced, in the order the tasks are stored in
      * @param replacement the replacement task
      */
     public void replace(int index, Task replacement) {
-        tasks.set(index, replacement);
+        markUpdated();
+        replacement.setRank(tasks.get(index).getRank());
+        Task task = tasks.set(index, replacement);
+        for (SortView view : indexes) {
+            view.replace(task, replacement);
+        }
+        words.remove(task);
+        words.add(replacement);
+        schedules.remove(task);
+        schedules.add(replacement);
+        duplicates.remove(task);
+        duplicates.add(replacement);
+        markChanged();
     }
 
     /**
@@ -237,7 +536,10 @@ public class TaskList {
         try {
             int index = Integer.parseInt(info[0]) - 1;
             Priority priority = Priority.valueOf(info[1]);
-            tasks.get(index).setPriority(priority);
+            Task task = view().get(index);
+            markUpdating(task);
+            task.setPriority(priority);
+            markUpdated();
         } catch (IllegalArgumentException a) {
             throw new RoomShareException(ExceptionType.wrongPriority);
         } catch (IndexOutOfBoundsException i) {
@@ -246,24 +548,9 @@ public class TaskList {
 
     }
 
-    /**
-     * Returns priority of the task in the form of an integer.
-     * high = 0, medium = 1, low = 2
-     * @param t task in which we are checking the value of
-     * @return integer value of the task's priority
-     */
-    private static int getValue(Task t) {
-        if (t.getPriority().equals(Priority.high)) {
-            return 0;
-        } else if (t.getPriority().equals(Priority.medium)) {
-            return 1;
-        } else {
-            return 2;
-        }
-    }
-
     /**
      * Changes taskList sort mode.
+     * The sort view of the new sort mode is already kept in order, so no sorting is needed.
      * @param sortType new sort mode
      */
     public static void changeSort(SortType sortType) {
@@ -272,113 +559,67 @@ public class TaskList {
     }
 
     /**
-     * Sorts the list based on current sort mode.
-     * @throws IllegalArgumentException when the sort type is not of priority, alphabetical or by deadline
+     * Brings the sort view of the current sort mode up to date.
+     * Does nothing if the view has been kept in order since it was last sorted.
      */
     public static void sortTasks() {
-        switch (sortType) {
-        case priority:
-            comparePriority();
-            break;
-        case alphabetical:
-            compareAlphabetical();
-            break;
-        case deadline:
-            compareDeadline();
-            break;
-        case type:
-            compareType();
-            break;
-        default:
-            throw new IllegalStateException("Unexpected value: " + sortType);
-        }
-    }
-
-    /**
-     * Compare tasks based on priority.
-     */
-    private static void comparePriority() {
-        Collections.sort(tasks, (task1, task2) -> {
-            if (task1.getDone() && !task2.getDone()) {
-                return 1;
-            } else if (task2.getDone() && !task1.getDone()) {
-                return -1;
-            } else {
-                return getValue(task1) - getValue(task2);
-            }
-        });
-    }
-
-    /**
-     * Compare tasks based on Alphabetical order.
-     */
-    private static void compareAlphabetical() {
-        Collections.sort(tasks, (task1, task2) -> {
-            if (task1.getDone() && !task2.getDone()) {
-                return 1;
-            } else if (task2.getDone() && !task1.getDone()) {
-                return -1;
-            } else {
-                String name1 = task1.getDescription();
-                String name2 = task2.getDescription();
-                return name1.compareTo(name2);
-            }
-        });
-    }
-
-    /**
-     * Compare tasks based on Deadline.
-     */
-    private static void compareDeadline() {
-        Collections.sort(tasks, (task1, task2) -> {
-            if (task1.getDone() && !task2.getDone()) {
-                return 1;
-            } else if (task2.getDone() && !task1.getDone()) {
-                return -1;
-            } else {
-                Date date1 = task1.getDate();
-                Date date2 = task2.getDate();
-                return (int) (date1.getTime() - date2.getTime());
-            }
-        });
+        view();
     }
 
     /**
-     * Compare tasks based on Type.
-     */
-    private static void compareType() {
-        Collections.sort(tasks, (task1, task2) -> {
-            if (task1 instanceof Meeting && !(task2 instanceof Meeting)) {
-                return -1;
-            } else if (task1 instanceof Assignment) {
-                if (task2 instanceof Meeting) {
-                    return 1;
-                } else if (task2 instanceof Leave) {
-                    return -1;
-                } else {
-                    return 0;
-                }
-            } else {
-                if (task2 instanceof Meeting || task2 instanceof Assignment) {
-                    return 1;
-                } else {
-                    return 0;
-                }
-            }
-        });
-    }
-
-    /**
-     * Reorder the positions of two tasks inside the task list.
+     * Reorder the positions of two tasks inside the current sort view.
+     * The ranks and stored positions of the tasks are swapped, and every sort view is kept in order,
+     * so the tasks trade places wherever they are equal in the sort mode.
      * @param first the first task
      * @param second the second task
+     * @throws RoomShareException when either index is out of bounds
      */
     public void reorder(int first, int second) throws RoomShareException {
+        Task firstTask;
+        Task secondTask;
         try {
-            Collections.swap(tasks, first, second);
+            firstTask = view().get(first);
+            secondTask = view().get(second);
         } catch (IndexOutOfBoundsException e) {
             throw new RoomShareException(ExceptionType.outOfBounds);
         }
+        if (firstTask == secondTask) {
+            return;
+        }
+        int firstStored = storedIndexOf(firstTask);
+        int secondStored = storedIndexOf(secondTask);
+        for (SortView view : indexes) {
+            view.remove(firstTask);
+            view.remove(secondTask);
+        }
+        long rank = firstTask.getRank();
+        firstTask.setRank(secondTask.getRank());
+        secondTask.setRank(rank);
+        Collections.swap(tasks, firstStored, secondStored);
+        for (SortView view : indexes) {
+            view.insert(firstTask);
+            view.insert(secondTask);
+        }
+        markChanged();
+    }
+
+    /**
+     * Returns the position a task is stored at, found by a binary search of the ranks of the stored tasks.
+     * @param task the task
+     * @return index of the task in the order the tasks are stored in
+     */
+    private static int storedIndexOf(Task task) {
+        int low = 0;
+        int high = tasks.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (tasks.get(middle).getRank() < task.getRank()) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low < tasks.size() && tasks.get(low) == task ? low : tasks.indexOf(task);
     }
 
     /**
@@ -390,23 +631,26 @@ public class TaskList {
      */
     public void snooze(int index, int amount, TimeUnit timeUnit) throws RoomShareException {
         try {
+            Task task = view().get(index);
+            markUpdating(task);
             switch (timeUnit) {
             case month:
-                tasks.get(index).snoozeMonth(amount);
+                task.snoozeMonth(amount);
                 break;
             case day:
-                tasks.get(index).snoozeDay(amount);
+                task.snoozeDay(amount);
                 break;
             case hours:
-                tasks.get(index).snoozeHour(amount);
+                task.snoozeHour(amount);
                 break;
             case minutes:
-                tasks.get(index).snoozeMinute(amount);
+                task.snoozeMinute(amount);
                 break;
             default:
-                tasks.get(index).snoozeMinute(0);
+                task.snoozeMinute(0);
                 break;
             }
+            markUpdated();
         } catch (IndexOutOfBoundsException e) {
             throw new RoomShareException(ExceptionType.outOfBounds);
         }
@@ -448,7 +692,7 @@ public class TaskList {
      */
     public static Task get(int index) throws RoomShareException {
         try {
-            return tasks.get(index);
+            return view().get(index);
         } catch (IndexOutOfBoundsException e) {
             throw new RoomShareException(ExceptionType.outOfBounds);
         }
@@ -472,8 +716,10 @@ public class TaskList {
         int listCount = 1;
         int belongCount = 0;
         int doneCount  = 0;
-        for (Task output : tasks) {
-            if (output.getAssignee().equals(user) || output.getAssignee().equals("everyone")) {
+        int userId = Assignees.find(user);
+        for (Task output : view()) {
+            int assigneeId = output.getAssigneeId();
+            if (assigneeId == userId || assigneeId == Assignees.EVERYONE) {
                 belongCount += 1;
                 if (output.getDone()) {
                     doneCount += 1;
@@ -512,11 +758,14 @@ public class TaskList {
      * @throws RoomShareException when the task selected is a Leave
      */
     public void reopen(int index, Date date) throws RoomShareException {
-        TaskList.get(index).setDate(date);
-        CheckAnomaly.checkDuplicate(TaskList.get(index));
-        if (tasks.get(index) instanceof Meeting) {
-            CheckAnomaly.checkTimeClash(TaskList.get(index));
+        Task task = TaskList.get(index);
+        markUpdating(task);
+        task.setDate(date);
+        task.setDone(false);
+        CheckAnomaly.checkDuplicate(task);
+        if (task instanceof Meeting) {
+            CheckAnomaly.checkTimeClash(task);
         }
-        TaskList.get(index).setDone(false);
+        markUpdated();
     }
 }
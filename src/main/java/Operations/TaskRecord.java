@@ -0,0 +1,133 @@
+package Operations;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A single line of a data file, kept as raw bytes.
+ * Fields are separated by '#' and are only decoded into Strings when they are accessed,
+ * so a line can be read without splitting it into an array of Strings.
+ */
+class TaskRecord {
+    private static final byte SEPARATOR = '#';
+    private byte[] bytes = new byte[256];
+    private int length;
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+
+    /**
+     * Creates a record from a line that is already held as a String.
+     * @param line line of the data file
+     * @return the record holding the line
+     */
+    static TaskRecord of(String line) {
+        TaskRecord record = new TaskRecord();
+        byte[] lineBytes = line.getBytes(StandardCharsets.UTF_8);
+        record.load(ByteBuffer.wrap(lineBytes), 0, lineBytes.length);
+        return record;
+    }
+
+    /**
+     * Copies a line out of a buffer into this record, replacing its previous contents.
+     * A trailing carriage return is dropped.
+     * @param buffer buffer holding the line
+     * @param start position of the first byte of the line
+     * @param end position after the last byte of the line
+     */
+    void load(ByteBuffer buffer, int start, int end) {
+        length = end - start;
+        if (length > bytes.length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        buffer.position(start);
+        buffer.get(bytes, 0, length);
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length -= 1;
+        }
+        indexFields();
+    }
+
+    /**
+     * Finds the boundaries of the fields of the line.
+     * Like String.split, trailing empty fields are not counted.
+     */
+    private void indexFields() {
+        fieldCount = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || bytes[i] == SEPARATOR) {
+                if (fieldCount == fieldEnds.length) {
+                    int[] grown = new int[fieldEnds.length * 2];
+                    System.arraycopy(fieldEnds, 0, grown, 0, fieldCount);
+                    fieldEnds = grown;
+                }
+                fieldEnds[fieldCount] = i;
+                fieldCount += 1;
+            }
+        }
+        while (fieldCount > 1 && fieldStart(fieldCount - 1) == fieldEnds[fieldCount - 1]) {
+            fieldCount -= 1;
+        }
+    }
+
+    /**
+     * Returns the number of fields in the line.
+     * @return the number of fields in the line
+     */
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns a field of the line with its surrounding whitespace removed.
+     * @param index index of the field
+     * @return the field as a trimmed String
+     * @throws IndexOutOfBoundsException when the line has no such field
+     */
+    String field(int index) {
+        int start = trimmedStart(index);
+        return new String(bytes, start, trimmedEnd(index, start) - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a copy of the raw UTF-8 bytes of a field of the line, with its surrounding whitespace removed.
+     * @param index index of the field
+     * @return the bytes of the trimmed field
+     * @throws IndexOutOfBoundsException when the line has no such field
+     */
+    byte[] fieldBytes(int index) {
+        int start = trimmedStart(index);
+        return Arrays.copyOfRange(bytes, start, trimmedEnd(index, start));
+    }
+
+    private int trimmedStart(int index) {
+        if (index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+        int start = fieldStart(index);
+        while (start < fieldEnds[index] && (bytes[start] & 0xff) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimmedEnd(int index, int start) {
+        int end = fieldEnds[index];
+        while (end > start && (bytes[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the whole line, decoded into a String.
+     * @return the line
+     */
+    String line() {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int fieldStart(int index) {
+        return index == 0 ? 0 : fieldEnds[index - 1] + 1;
+    }
+}
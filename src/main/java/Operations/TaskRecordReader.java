@@ -0,0 +1,122 @@
+package Operations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Reads the lines of a data file through a memory-mapped buffer.
+ * The file is mapped a window at a time and scanned for line boundaries directly,
+ * so the heap used while reading does not grow with the size of the file.
+ */
+class TaskRecordReader {
+    private static final long MAP_WINDOW = 64L << 20;
+    private static final int SEARCH_BUFFER_SIZE = 4096;
+    private FileChannel channel;
+    private long end;
+    private long windowStart;
+    private MappedByteBuffer buffer;
+    private int offset;
+
+    /**
+     * Constructor for the TaskRecordReader class.
+     * @param channel channel of the data file
+     * @param start position of the first byte to be read
+     * @param end position after the last byte to be read
+     */
+    TaskRecordReader(FileChannel channel, long start, long end) {
+        this.channel = channel;
+        this.windowStart = start;
+        this.end = end;
+    }
+
+    /**
+     * Loads the next line of the file into a record.
+     * @param record record to be loaded with the line
+     * @return false if there are no more lines in the file
+     * @throws IOException when the file cannot be mapped, or a line does not fit in a window
+     */
+    boolean next(TaskRecord record) throws IOException {
+        if (buffer == null || offset == buffer.limit()) {
+            if (buffer != null) {
+                windowStart += buffer.limit();
+            }
+            if (windowStart >= end) {
+                return false;
+            }
+            map();
+        }
+        while (true) {
+            int limit = buffer.limit();
+            for (int i = offset; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    record.load(buffer, offset, i);
+                    offset = i + 1;
+                    return true;
+                }
+            }
+            if (windowStart + limit >= end) {
+                // last line of the file has no line break
+                record.load(buffer, offset, limit);
+                offset = limit;
+                return true;
+            }
+            if (offset == 0) {
+                throw new IOException("Line is longer than " + MAP_WINDOW + " bytes");
+            }
+            // map the next window from the start of the unfinished line
+            windowStart += offset;
+            map();
+        }
+    }
+
+    /**
+     * Returns the start of the first line that begins at or after a position of the file.
+     * @param channel channel of the file
+     * @param position position to search from
+     * @param end position after the last byte to be searched
+     * @return the position after the first line break at or after the position, or end if there is none
+     * @throws IOException when the file cannot be read
+     */
+    static long nextLineStart(FileChannel channel, long position, long end) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(SEARCH_BUFFER_SIZE);
+        // a line starts at the position if the byte before it is a line break
+        for (long start = position - 1; start < end; start += buffer.limit()) {
+            buffer.clear();
+            buffer.limit((int) Math.min(SEARCH_BUFFER_SIZE, end - start));
+            while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+                // read until the buffer is filled
+            }
+            buffer.flip();
+            for (int i = 0; i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+        }
+        return end;
+    }
+
+    private void map() throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(MAP_WINDOW, end - windowStart));
+        offset = 0;
+    }
+
+    /**
+     * Adds the start of a file to a CRC32 checksum.
+     * @param crc the checksum
+     * @param channel channel of the file
+     * @param size number of bytes from the start of the file to be checked
+     * @throws IOException when the file cannot be mapped
+     */
+    static void update(CRC32 crc, FileChannel channel, long size) throws IOException {
+        for (long position = 0; position < size; position += MAP_WINDOW) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position)));
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package Operations;
+
+import Enums.Priority;
+import Model_Classes.Assignment;
+import Model_Classes.Leave;
+import Model_Classes.Meeting;
+import Model_Classes.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * An inverted index from the words of the tasks to the tasks holding them.
+ * The words of a task are taken from its description, assignee, subtasks and type, in lower case.
+ * The distinct words are themselves indexed by their trigrams, so that words spelt like a misspelt term
+ * are found without comparing the term to every word.
+ * Once built, the index is kept up to date as tasks are added, removed and updated,
+ * and it is only built again from the task list after it has been invalidated.
+ */
+class TokenIndex {
+    private TreeMap<String, Set<Task>> postings = new TreeMap<>();
+    private IdentityHashMap<Task, String[]> tokens = new IdentityHashMap<>();
+    private HashMap<String, Set<String>> trigrams = new HashMap<>();
+    private boolean isValid = false;
+    private static final double MINIMUM_SIMILARITY = 0.4;
+    private static final double HIGH_PRIORITY_BONUS = 0.3;
+    private static final double MEDIUM_PRIORITY_BONUS = 0.15;
+    private static final double RECENCY_BONUS = 0.2;
+    private static final double RECENCY_DAYS = 30;
+    private static final double MILLISECONDS_PER_DAY = 24 * 60 * 60 * 1000;
+
+    /**
+     * Returns the tasks holding a word starting with every term of a query.
+     * The task set of the term with the fewest matching tasks is read from the index,
+     * and the remaining terms are checked against the words of those tasks only.
+     * @param tasks the tasks in the order they are stored in, to build the index from if it has been invalidated
+     * @param terms the terms of the query, in lower case
+     * @return the tasks matching every term, in no particular order
+     */
+    ArrayList<Task> search(ArrayList<Task> tasks, String[] terms) {
+        build(tasks);
+        String rarest = null;
+        int rarestCount = Integer.MAX_VALUE;
+        for (String term : terms) {
+            int count = 0;
+            for (Set<Task> matches : withPrefix(term).values()) {
+                count += matches.size();
+            }
+            if (count < rarestCount) {
+                rarest = term;
+                rarestCount = count;
+            }
+        }
+        if (rarest == null) {
+            return new ArrayList<>();
+        }
+        // a task with several words starting with the term is in several of the task sets
+        Set<Task> results = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Set<Task> candidates : withPrefix(rarest).values()) {
+            for (Task candidate : candidates) {
+                if (matchesAll(tokens.get(candidate), terms)) {
+                    results.add(candidate);
+                }
+            }
+        }
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Returns the tasks closest to a query, allowing for misspelt terms, best match first.
+     * Each term is matched to the words it is a prefix of, and to the words sharing enough of its trigrams.
+     * A task scores the similarity of its closest word to each term, weighted up when several of its words
+     * match the term, plus a bonus for its priority and for a date close to now.
+     * Only the best tasks are kept while scoring, in a heap bounded by the number of results.
+     * @param tasks the tasks in the order they are stored in, to build the index from if it has been invalidated
+     * @param terms the terms of the query, in lower case
+     * @param limit the largest number of tasks to be returned
+     * @param now time in milliseconds since the epoch that recency is measured from
+     * @return the closest tasks, best match first
+     */
+    ArrayList<Task> searchFuzzy(ArrayList<Task> tasks, String[] terms, int limit, long now) {
+        build(tasks);
+        // for each matched task, the best similarity and the number of matching words of each term
+        IdentityHashMap<Task, double[]> matches = new IdentityHashMap<>();
+        for (int i = 0; i < terms.length; i++) {
+            for (Map.Entry<String, Double> similar : similarWords(terms[i]).entrySet()) {
+                for (Task task : postings.get(similar.getKey())) {
+                    double[] match = matches.computeIfAbsent(task, t -> new double[2 * terms.length]);
+                    match[2 * i] = Math.max(match[2 * i], similar.getValue());
+                    match[2 * i + 1] += 1;
+                }
+            }
+        }
+        PriorityQueue<Scored> best = new PriorityQueue<>();
+        for (Map.Entry<Task, double[]> match : matches.entrySet()) {
+            best.add(new Scored(match.getKey(), score(match.getKey(), match.getValue(), now)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        ArrayList<Task> results = new ArrayList<>();
+        while (!best.isEmpty()) {
+            results.add(best.poll().task);
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Marks the index as out of date, so it is built again the next time it is searched.
+     */
+    void invalidate() {
+        isValid = false;
+        postings.clear();
+        tokens.clear();
+        trigrams.clear();
+    }
+
+    /**
+     * Builds the index from the task list if it has been invalidated.
+     * @param tasks the tasks in the order they are stored in
+     */
+    private void build(ArrayList<Task> tasks) {
+        if (!isValid) {
+            invalidate();
+            isValid = true;
+            for (Task task : tasks) {
+                add(task);
+            }
+        }
+    }
+
+    /**
+     * Adds the words of a new task to the index.
+     * @param task the task to be added
+     */
+    void add(Task task) {
+        if (!isValid) {
+            return;
+        }
+        String[] words = tokenize(task);
+        tokens.put(task, words);
+        for (String word : words) {
+            Set<Task> matches = postings.get(word);
+            if (matches == null) {
+                matches = Collections.newSetFromMap(new IdentityHashMap<>());
+                postings.put(word, matches);
+                for (String trigram : trigramsOf(word)) {
+                    trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(word);
+                }
+            }
+            matches.add(task);
+        }
+    }
+
+    /**
+     * Removes the words of a task from the index.
+     * @param task the task to be removed
+     */
+    void remove(Task task) {
+        if (!isValid) {
+            return;
+        }
+        String[] words = tokens.remove(task);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Set<Task> matches = postings.get(word);
+            matches.remove(task);
+            if (matches.isEmpty()) {
+                postings.remove(word);
+                for (String trigram : trigramsOf(word)) {
+                    Set<String> similar = trigrams.get(trigram);
+                    similar.remove(word);
+                    if (similar.isEmpty()) {
+                        trigrams.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the words of a task that has been modified in place with its current words.
+     * @param task the modified task
+     */
+    void update(Task task) {
+        remove(task);
+        add(task);
+    }
+
+    /**
+     * Splits a query into its terms.
+     * @param query the query
+     * @return the lower case terms of the query
+     */
+    static String[] terms(String query) {
+        ArrayList<String> terms = new ArrayList<>();
+        split(query, terms);
+        return terms.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the words of the index close to a term, with their similarity to the term.
+     * Words the term is a prefix of have a similarity of 1. Other words have the share of trigrams
+     * they have in common with the term, and are only returned if the share is large enough.
+     * @param term the term
+     * @return the similarity of each word close to the term
+     */
+    private HashMap<String, Double> similarWords(String term) {
+        HashMap<String, Double> similar = new HashMap<>();
+        Set<String> termTrigrams = trigramsOf(term);
+        HashMap<String, Integer> sharedCounts = new HashMap<>();
+        for (String trigram : termTrigrams) {
+            for (String word : trigrams.getOrDefault(trigram, Collections.emptySet())) {
+                sharedCounts.merge(word, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<String, Integer> shared : sharedCounts.entrySet()) {
+            double similarity = 2.0 * shared.getValue()
+                    / (termTrigrams.size() + trigramsOf(shared.getKey()).size());
+            if (similarity >= MINIMUM_SIMILARITY) {
+                similar.put(shared.getKey(), similarity);
+            }
+        }
+        for (String word : withPrefix(term).keySet()) {
+            similar.put(word, 1.0);
+        }
+        return similar;
+    }
+
+    /**
+     * Returns the score of a task matching a fuzzy query.
+     * @param task the task
+     * @param match the best similarity and the number of matching words of each term of the query
+     * @param now time in milliseconds since the epoch that recency is measured from
+     * @return the score of the task, higher for a better match
+     */
+    private static double score(Task task, double[] match, long now) {
+        double score = 0;
+        for (int i = 0; i < match.length; i += 2) {
+            if (match[i + 1] > 0) {
+                score += match[i] * (1 + Math.log(match[i + 1]));
+            }
+        }
+        if (task.getPriority() == Priority.high) {
+            score += HIGH_PRIORITY_BONUS;
+        } else if (task.getPriority() == Priority.medium) {
+            score += MEDIUM_PRIORITY_BONUS;
+        }
+        double days = Math.abs(task.getDate().getTime() - now) / MILLISECONDS_PER_DAY;
+        return score + RECENCY_BONUS * RECENCY_DAYS / (RECENCY_DAYS + days);
+    }
+
+    /**
+     * Returns the distinct trigrams of a word, with the start and end of the word marked.
+     * @param word the word
+     * @return the trigrams of the word
+     */
+    private static Set<String> trigramsOf(String word) {
+        String marked = "$" + word + "$";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= marked.length(); i++) {
+            trigrams.add(marked.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private SortedMap<String, Set<Task>> withPrefix(String prefix) {
+        return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    private static boolean matchesAll(String[] words, String[] terms) {
+        for (String term : terms) {
+            boolean isMatched = false;
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    isMatched = true;
+                    break;
+                }
+            }
+            if (!isMatched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the distinct words of a task.
+     * @param task the task
+     * @return the lower case words of the description, assignee, subtasks and type of the task
+     */
+    private static String[] tokenize(Task task) {
+        ArrayList<String> words = new ArrayList<>();
+        split(task.getDescription(), words);
+        split(task.getAssignee(), words);
+        if (task instanceof Assignment) {
+            words.add("assignment");
+            ArrayList<String> subTasks = ((Assignment) task).getSubTasks();
+            if (subTasks != null) {
+                for (String subTask : subTasks) {
+                    split(subTask, words);
+                }
+            }
+        } else if (task instanceof Meeting) {
+            words.add("meeting");
+        } else if (task instanceof Leave) {
+            words.add("leave");
+        }
+        return words.stream().distinct().toArray(String[]::new);
+    }
+
+    /**
+     * Adds the lower case words of a text, separated by anything other than letters and digits, to a list.
+     * @param text the text
+     * @param words the list of words
+     */
+    private static void split(String text, ArrayList<String> words) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordCharacter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordCharacter && start < 0) {
+                start = i;
+            } else if (!isWordCharacter && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * A task with its score, ordered from the lowest score so that the heap drops the worst match first.
+     */
+    private static class Scored implements Comparable<Scored> {
+        private Task task;
+        private double score;
+
+        private Scored(Task task, double score) {
+            this.task = task;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Scored other) {
+            return Double.compare(score, other.score);
+        }
+    }
+}
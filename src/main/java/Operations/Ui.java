@@ -2,8 +2,12 @@ package Operations;
 
 import Enums.SortType;
 import Enums.TimeUnit;
+import Model_Classes.Task;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.TreeSet;
 
 /**
  * Class to tell user about errors and completion of operations.
@@ -57,6 +61,7 @@ public class Ui {
                 "\n show " +
                 "\n removeoverdue " +
                 "\n log " +
+                "\n report " +
                 "\n bye \n" +
                 "For more information about a specific command you can \nEnter help followed by a command, eg. help add\n");
     }
@@ -157,7 +162,7 @@ public class Ui {
     }
 
     void helpLog() {
-        System.out.println("Logs the current task list into a saved file");
+        System.out.println("Logs the current task list into a compressed archive in the logs folder");
     }
 
     public void helpRemoveoverdue() {
@@ -191,6 +196,12 @@ public class Ui {
         System.out.println("This will list all the tasks assigned to kelly and everyone");
     }
 
+    public void helpReport() {
+        System.out.println("Checks the whole schedule for meetings and leaves that clash");
+        System.out.println("\teg. report");
+        System.out.println("This will list the clashes of each user, and the times they are busy and free");
+    }
+
     /**
      * Prints a message telling the user that the task at the index has been deleted.
      *
@@ -240,6 +251,21 @@ public class Ui {
         System.out.println("Listing tasks in the common task list...");
     }
 
+    /**
+     * tells the user that the task list is still loading, before the first tasks loaded are shown.
+     */
+    public void showLoading() {
+        System.out.println("Loading tasks... here are the first ones:");
+    }
+
+    /**
+     * shows a task of the task list as soon as it has been loaded.
+     * @param task the loaded task
+     */
+    public void showLoadedTask(Task task) {
+        System.out.println("\t- " + task.toString());
+    }
+
     /**
      * Tells the user that an invalid command has been input into RoomShare.
      */
@@ -353,4 +379,38 @@ public class Ui {
     public void showDoneList() {
         System.out.println("These are the tasks that you have already done:");
     }
+
+    /**
+     * Prints the clashes of each assignee in a report of the schedule, and the times they are busy and free.
+     * @param report the report of the schedule
+     */
+    public void showScheduleReport(ScheduleReport report) {
+        if (report.getBusyPeriods().isEmpty()) {
+            System.out.println("There are no meetings or leaves in your schedule");
+            return;
+        }
+        System.out.println("Here is the report of your schedule:");
+        TreeSet<String> assignees = new TreeSet<>(report.getBusyPeriods().keySet());
+        assignees.addAll(report.getClashes().keySet());
+        for (String assignee : assignees) {
+            System.out.println("\t" + assignee + ":");
+            ArrayList<Task[]> clashes = report.getClashes().getOrDefault(assignee, new ArrayList<>());
+            if (clashes.isEmpty()) {
+                System.out.println("\t\tNo clashes");
+            }
+            for (Task[] clash : clashes) {
+                System.out.println("\t\tClash: " + clash[0].toString());
+                System.out.println("\t\t  with " + clash[1].toString());
+            }
+            ArrayList<long[]> periods = report.getBusyPeriods().getOrDefault(assignee, new ArrayList<>());
+            for (int i = 0; i < periods.size(); i++) {
+                System.out.println("\t\tBusy from " + new Date(periods.get(i)[0])
+                        + " to " + new Date(periods.get(i)[1]));
+                if (i + 1 < periods.size()) {
+                    System.out.println("\t\tFree from " + new Date(periods.get(i)[1])
+                            + " to " + new Date(periods.get(i + 1)[0]));
+                }
+            }
+        }
+    }
 }
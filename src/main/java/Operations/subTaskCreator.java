@@ -41,7 +41,9 @@ public class subTaskCreator {
                     subtasks.add(temp.get(i));
                 }
             }
-            ((Assignment) TaskList.currentList().get(index)).addSubTasks(subtasks);
+            TaskList.markUpdating(TaskList.get(index));
+            ((Assignment) TaskList.get(index)).addSubTasks(subtasks);
+            TaskList.markUpdated();
             if (error) {
                 throw new RoomShareException(ExceptionType.duplicateSubtask);
             }
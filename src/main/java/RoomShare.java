@@ -12,11 +12,14 @@ import Operations.*;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Main class of the RoomShare program.
  */
 public class RoomShare {
+    private static final int FIRST_PAGE_SIZE = 10;
     private Ui ui;
     private Storage storage;
     private TaskList taskList;
@@ -26,6 +29,9 @@ public class RoomShare {
     private TaskCreator taskCreator;
     private Help help;
     private ListRoutine listRoutine;
+    private PersistenceService persistence;
+    private DeadlineScheduler scheduler;
+    private int shownWhileLoading = 0;
 
     /**
      * Constructor of a RoomShare class. Creates all necessary objects and collections for RoomShare to run
@@ -35,48 +41,91 @@ public class RoomShare {
         ui = new Ui();
         help = new Help();
         ui.startUp();
-        storage = new Storage();
+        storage = new Storage(true);
+        persistence = new PersistenceService(storage);
         parser = new Parser();
         taskCreator = new TaskCreator();
         ArrayList<Task> tempStorage = new ArrayList<>();
         tempDeleteList = new TempDeleteList(tempStorage);
 
-        try {
-            taskList = new TaskList(storage.loadFile("data.txt"));
-        } catch (RoomShareException e) {
-            ui.showError(e);
-            ArrayList<Task> emptyList = new ArrayList<>();
-            taskList = new TaskList(emptyList);
-        }
-        try {
-            overdueList = new OverdueList(storage.loadFile("overdue.txt"));
-        } catch (RoomShareException e) {
-            ui.showError(e);
-            ArrayList<Task> emptyList = new ArrayList<>();
-            overdueList = new OverdueList(emptyList);
-        }
-        listRoutine = new ListRoutine(taskList, overdueList);
+        // overdue.txt is parsed on another thread while data.txt is parsed on this one,
+        // and the first page of data.txt is shown while the rest of it is parsed
+        CompletableFuture<ArrayList<Task>> overdueTasks =
+                CompletableFuture.supplyAsync(() -> load("overdue.txt", task -> { }));
+        taskList = new TaskList(load("data.txt", this::showWhileLoading));
+        overdueList = new OverdueList(overdueTasks.join());
+        scheduler = new DeadlineScheduler(taskList, overdueList, persistence);
+        listRoutine = new ListRoutine(taskList, overdueList, scheduler);
         RecurHandler recurHandler = new RecurHandler(taskList);
-        if (recurHandler.checkRecurrence()) {
+        boolean isRecurred = recurHandler.checkRecurrence();
+        // tasks that expired while RoomShare was closed are moved now, later ones by the scheduler
+        taskList.sweepOverdue(overdueList);
+        if (isRecurred) {
             ui.showChangeInTaskList();
             taskList.list(overdueList);
         }
         listRoutine.list();
     }
 
+    /**
+     * Shows a task of the task list while the rest of the list is loading, until a page of tasks is shown.
+     * Tasks are shown in the order they are stored in, as the list cannot be sorted until it is loaded,
+     * and tasks that are done or have expired are skipped, as they are not shown in the list either.
+     * @param task the task that has just been parsed
+     */
+    private void showWhileLoading(Task task) {
+        if (shownWhileLoading >= FIRST_PAGE_SIZE || task.getDone()
+                || TaskList.getExpiry(task) < System.currentTimeMillis()) {
+            return;
+        }
+        if (shownWhileLoading == 0) {
+            ui.showLoading();
+        }
+        ui.showLoadedTask(task);
+        shownWhileLoading += 1;
+    }
+
+    /**
+     * Loads the tasks of a data file, streaming them into a list as they are parsed.
+     * @param fileName name of the data file
+     * @param onLoaded consumer each task is also handed to as soon as it is parsed
+     * @return the tasks of the file, or an empty list if the file could not be loaded
+     */
+    private ArrayList<Task> load(String fileName, Consumer<Task> onLoaded) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        try {
+            storage.loadFile(fileName, task -> {
+                tasks.add(task);
+                onLoaded.accept(task);
+            });
+        } catch (RoomShareException e) {
+            ui.showError(e);
+            tasks.clear();
+        }
+        return tasks;
+    }
+
     /**
      * Deals with the operation flow of RoomShare.
+     * Saving is left to the persistence service, which is drained before RoomShare exits.
      */
     private void run() throws RoomShareException, IOException, InterruptedException {
         boolean isExit = false;
+        persistence.lock();
         while (!isExit) {
             TaskType type;
+            // the task lists can only be flushed or marked overdue while waiting for the next command
+            scheduler.reschedule();
+            persistence.unlock();
             try {
                 String command = parser.getCommand();
                 type = TaskType.valueOf(command);
             } catch (IllegalArgumentException e) {
                 type = TaskType.others;
+            } finally {
+                persistence.lock();
             }
+            showWriteError();
             switch (type) {
             case help:
                 Ui.clearScreen();
@@ -87,18 +136,7 @@ public class RoomShare {
 
             case bye:
                 isExit = true;
-                try {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                } catch (RoomShareException e) {
-                    ui.showError(e);
-                }
-                try {
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
-                } catch (RoomShareException e) {
-                    ui.showError(e);
-                }
                 parser.close();
-                ui.showBye();
                 break;
 
             case list:
@@ -122,8 +160,7 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);
                 } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -139,8 +176,7 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);
                 } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -156,7 +192,7 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);
                 } finally {
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -173,8 +209,7 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);
                 } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -202,8 +237,7 @@ public class RoomShare {
                         TaskList.sortTasks();
                         ui.prioritySet();
                     }
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -218,8 +252,7 @@ public class RoomShare {
                 } catch (RoomShareException | DuplicateException | TimeClashException e) {
                     ui.showError(e);
                 } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -240,8 +273,7 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);
                 } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -258,8 +290,7 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);;
                 } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -275,8 +306,7 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);
                 } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -293,8 +323,7 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);
                 } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -309,9 +338,6 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);
                     sortType = SortType.priority;
-                } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
                 }
                 TaskList.changeSort(sortType);
                 ui.showChangeInPriority(sortType);
@@ -327,9 +353,6 @@ public class RoomShare {
                     ui.showLogSuccess(filePath);
                 } catch (RoomShareException e) {
                     ui.showError(e);
-                } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
                 }
                 break;
 
@@ -341,9 +364,6 @@ public class RoomShare {
                     taskList.showCompleted();
                 } catch (RoomShareException e) {
                     ui.showError(e);
-                } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
                 }
                 break;
 
@@ -357,16 +377,13 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);
                 }
-                try {
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
-                } catch (RoomShareException e) {
-                    ui.showError(e);
-                }
                 break;
 
             case reschedule:
                 Ui.clearScreen();
                 ui.startUp();
+                // overdue tasks still waiting to be removed from the task list would be added to it twice
+                scheduler.removeExpired();
                 try {
                     overdueList.list();
                     String input = parser.getCommandLine();
@@ -384,13 +401,10 @@ public class RoomShare {
                           ui.showUpdated(indexes[0] + 1);
                       }
                     overdueList.reschedule(indexes, taskList);
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
                 } catch (RoomShareException e) {
                     ui.showError(e);
                 } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                    persistence.requestFlush();
                 }
                 listRoutine.list();
                 break;
@@ -416,12 +430,15 @@ public class RoomShare {
                     }
                 } catch (RoomShareException e) {
                     ui.showError(e);
-                } finally {
-                    storage.writeFile(TaskList.currentList(), "data.txt");
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
                 }
                 break;
 
+            case report:
+                Ui.clearScreen();
+                ui.startUp();
+                ui.showScheduleReport(CheckAnomaly.checkSchedule(TaskList.currentList()));
+                break;
+
             case reopen:
                 Ui.clearScreen();
                 ui.startUp();
@@ -433,8 +450,7 @@ public class RoomShare {
                 } catch (RoomShareException e) {
                     ui.showError(e);
                 }
-                storage.writeFile(TaskList.currentList(), "data.txt");
-                storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
+                persistence.requestFlush();
                 listRoutine.list();
                 ui.showDoneList();
                 taskList.showCompleted();
@@ -445,15 +461,25 @@ public class RoomShare {
                 ui.startUp();
                 listRoutine.list();
                 ui.showCommandError();
-                storage.writeFile(TaskList.currentList(), "data.txt");
-                try {
-                    storage.writeFile(OverdueList.getOverdueList(), "overdue.txt");
-                } catch (RoomShareException e) {
-                    ui.showError(e);
-                }
                 break;
             }
         }
+        scheduler.shutdown();
+        persistence.unlock();
+        persistence.drain();
+        showWriteError();
+        ui.showBye();
+    }
+
+    /**
+     * Shows the error of the last flush of the persistence service that failed, if any.
+     * Called on the thread reading the commands, so the error is not shown in the middle of the output of a command.
+     */
+    private void showWriteError() {
+        RoomShareException error = persistence.takeWriteError();
+        if (error != null) {
+            ui.showError(error);
+        }
     }
 
     /**
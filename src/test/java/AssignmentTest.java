@@ -3,6 +3,7 @@ import Enums.RecurrenceScheduleType;
 import Model_Classes.Assignment;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -53,4 +54,15 @@ public class AssignmentTest {
     void getRecurrenceSchedule() {
         assertEquals(assignment.getRecurrenceSchedule(), RecurrenceScheduleType.none);
     }
+
+    @Test
+    void encodedSubTasks() {
+        assignment.setEncodedSubTasks("first,second,".getBytes(StandardCharsets.UTF_8));
+        assertEquals("first,second,", assignment.getSubTaskField());
+        assertEquals(2, assignment.getSubTasks().size());
+        assertEquals("second", assignment.getSubTasks().get(1));
+
+        assignment.setEncodedSubTasks("first,,,".getBytes(StandardCharsets.UTF_8));
+        assertEquals("first,", assignment.getSubTaskField());
+    }
 }
@@ -0,0 +1,86 @@
+import CustomExceptions.RoomShareException;
+import Enums.Priority;
+import Enums.TimeUnit;
+import Model_Classes.Assignment;
+import Model_Classes.Leave;
+import Model_Classes.Meeting;
+import Model_Classes.Task;
+import Operations.BinaryStorage;
+import Operations.Storage;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BinaryStorageTest {
+    private static SimpleDateFormat format = new SimpleDateFormat("dd/MM/yyyy HH:mm");
+    private static Date date, to;
+    static {
+        try {
+            date = format.parse("22/12/2019 18:00");
+            to = format.parse("24/12/2019 18:00");
+        } catch (ParseException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private BinaryStorage binaryStorage = new BinaryStorage();
+
+    private ArrayList<Task> createList() throws RoomShareException {
+        ArrayList<Task> list = new ArrayList<>();
+        Assignment assignment = new Assignment("assign", date);
+        assignment.addSubTasks("sub1,sub2");
+        assignment.setPriority(Priority.high);
+        list.add(assignment);
+        Meeting meeting = new Meeting("meet", date, 2, TimeUnit.hours);
+        meeting.setDone(true);
+        meeting.setAssignee("harry");
+        list.add(meeting);
+        list.add(new Leave("leave", "user", date, to));
+        return list;
+    }
+
+    @Test
+    void writeAndLoadFile() throws RoomShareException, IOException {
+        File file = File.createTempFile("snapshot", ".bin");
+        ArrayList<Task> list = createList();
+        binaryStorage.writeFile(list, file.getPath());
+        ArrayList<Task> loaded = binaryStorage.loadFile(file.getPath());
+        assertEquals(list.size(), loaded.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(list.get(i).toString(), loaded.get(i).toString());
+            assertEquals(list.get(i).getDone(), loaded.get(i).getDone());
+            assertEquals(list.get(i).getPriority(), loaded.get(i).getPriority());
+        }
+        assertEquals("sub2", ((Assignment) loaded.get(0)).getSubTasks().get(1));
+        file.delete();
+    }
+
+    @Test
+    void convertTextFile() throws RoomShareException, IOException {
+        File binary = File.createTempFile("snapshot", ".bin");
+        File text = File.createTempFile("snapshot", ".txt");
+        binaryStorage.importTextFile("test.txt", binary.getPath());
+        binaryStorage.exportTextFile(binary.getPath(), text.getPath());
+        ArrayList<Task> original = new Storage().loadFile("test.txt");
+        ArrayList<Task> converted = new Storage().loadFile(text.getPath());
+        assertEquals(original.size(), converted.size());
+        for (int i = 0; i < original.size(); i++) {
+            assertEquals(original.get(i).toString(), converted.get(i).toString());
+        }
+        binary.delete();
+        text.delete();
+    }
+
+    @Test
+    void loadFileWrongFormat() {
+        assertThrows(RoomShareException.class, () -> binaryStorage.loadFile("test.txt"));
+    }
+}
@@ -1,22 +1,29 @@
 import CustomExceptions.RoomShareException;
 import Enums.TimeUnit;
 import Model_Classes.Assignment;
+import Model_Classes.Leave;
 import Model_Classes.Meeting;
+import Model_Classes.Task;
 import Operations.CheckAnomaly;
 import Operations.Parser;
+import Operations.ScheduleReport;
 import Operations.Storage;
 import Operations.TaskList;
 import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class CheckAnomalyTest {
     private static final Parser parser = new Parser();
     private static final Storage storage = new Storage();
-    private static Meeting meeting1, meeting2, meeting3, meeting4, meeting5;
+    private static Meeting meeting1, meeting2, meeting3, meeting4, meeting5, meeting6;
     private static Assignment assignment1, assignment2;
-    private static Date at1, at2, at3, at4, at5, at6, at7;
+    private static Date at1, at2, at3, at4, at5, at6, at7, at8;
     private static TaskList taskList;
 
     static {
@@ -28,12 +35,14 @@ public class CheckAnomalyTest {
             at5 = parser.formatDateDDMMYY("21/12/2019 13:00");
             at6 = parser.formatDateDDMMYY("22/12/2019 13:00");
             at7 = parser.formatDateDDMMYY("25/12/2019 13:00");
+            at8 = parser.formatDateDDMMYY("12/12/2019 15:00");
             taskList = new TaskList(storage.loadFile("test.txt"));
             meeting1 = new Meeting("test1", at1, 2, TimeUnit.hours);
             meeting2 = new Meeting("test2", at2);
             meeting3 = new Meeting("test3", at3);
             meeting4 = new Meeting("test4", at4, 2, TimeUnit.hours);
             meeting5 = new Meeting("test5", at5);
+            meeting6 = new Meeting("test7", at8, 4, TimeUnit.hours);
             assignment1 = new Assignment("test6", at6);
             assignment1.setAssignee("harry");
             assignment2 = new Assignment("test6", at7);
@@ -55,6 +64,9 @@ public class CheckAnomalyTest {
     @Test
     public void fixedClashOverlap() { assertEquals(1, new CheckAnomaly().checkTimeClash(meeting4)); }
 
+    @Test
+    public void longDurationOverlap() { assertEquals(0, new CheckAnomaly().checkTimeClash(meeting6)); }
+
     @Test
     public void noClash() { assertEquals(-1, new CheckAnomaly().checkTimeClash(meeting5)); }
 
@@ -63,4 +75,41 @@ public class CheckAnomalyTest {
 
     @Test
     public void noDuplicate() { assertEquals(-1, new CheckAnomaly().checkTimeClash(assignment2)); }
-}
\ No newline at end of file
+
+    @Test
+    public void scheduleReport() throws RoomShareException {
+        Meeting kellyMeeting = new Meeting("plan", parser.formatDateDDMMYY("12/12/2019 10:00"), 2, TimeUnit.hours);
+        kellyMeeting.setAssignee("kelly");
+        Meeting everyoneMeeting = new Meeting("house", parser.formatDateDDMMYY("12/12/2019 11:00"));
+        Meeting bobMeeting = new Meeting("study", parser.formatDateDDMMYY("12/12/2019 10:30"), 1, TimeUnit.hours);
+        bobMeeting.setAssignee("bob");
+        Leave kellyLeave = new Leave("trip", "kelly", parser.formatDateDDMMYY("12/12/2019 11:30"),
+                parser.formatDateDDMMYY("12/12/2019 13:00"));
+        Meeting doneMeeting = new Meeting("done", parser.formatDateDDMMYY("12/12/2019 10:00"));
+        doneMeeting.setAssignee("kelly");
+        doneMeeting.setDone(true);
+        Meeting bobCall = new Meeting("call", new Date(parser.formatDateDDMMYY("12/12/2019 14:00").getTime() + 5000));
+        bobCall.setAssignee("bob");
+        Meeting bobChat = new Meeting("chat", parser.formatDateDDMMYY("12/12/2019 14:00"), 0, TimeUnit.minutes);
+        bobChat.setAssignee("bob");
+        ScheduleReport report = CheckAnomaly.checkSchedule(new ArrayList<>(Arrays.asList(
+                kellyMeeting, everyoneMeeting, bobMeeting, kellyLeave, doneMeeting, bobCall, bobChat)));
+
+        assertEquals(Arrays.asList("bob", "kelly"), new ArrayList<>(report.getClashes().keySet()));
+        ArrayList<Task[]> kellyClashes = report.getClashes().get("kelly");
+        // done tasks and meetings within the same ten seconds clash, as they do in checkTimeClash
+        assertEquals(3, kellyClashes.size());
+        assertArrayEquals(new Task[] {doneMeeting, kellyMeeting}, kellyClashes.get(0));
+        assertArrayEquals(new Task[] {kellyMeeting, everyoneMeeting}, kellyClashes.get(1));
+        assertArrayEquals(new Task[] {kellyMeeting, kellyLeave}, kellyClashes.get(2));
+        assertEquals(2, report.getClashes().get("bob").size());
+        assertArrayEquals(new Task[] {bobMeeting, everyoneMeeting}, report.getClashes().get("bob").get(0));
+        assertArrayEquals(new Task[] {bobChat, bobCall}, report.getClashes().get("bob").get(1));
+
+        assertEquals(1, report.getBusyPeriods().get("kelly").size());
+        assertArrayEquals(new long[] {kellyMeeting.getDate().getTime(), kellyLeave.getEndDate().getTime()},
+                report.getBusyPeriods().get("kelly").get(0));
+        assertEquals(2, report.getBusyPeriods().get("bob").size());
+        assertEquals(1, report.getBusyPeriods().get("everyone").size());
+    }
+}
@@ -0,0 +1,115 @@
+import CustomExceptions.RoomShareException;
+import Model_Classes.Assignment;
+import Model_Classes.Task;
+import Operations.DeadlineScheduler;
+import Operations.ListRoutine;
+import Operations.ListSnapshot;
+import Operations.OverdueList;
+import Operations.PersistenceService;
+import Operations.Storage;
+import Operations.TaskList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DeadlineSchedulerTest {
+    private Storage storage = new Storage() {
+        @Override
+        public ArrayList<Task> loadFile(String fileName) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public void loadFile(String fileName, Consumer<Task> consumer) {
+        }
+
+        @Override
+        public void writeFile(ArrayList<Task> list, String fileName) {
+        }
+
+        @Override
+        public void writeFile(ArrayList<Task> list, String fileName, long version) {
+        }
+
+        @Override
+        public ListSnapshot snapshot(ArrayList<Task> list, String fileName, long version) {
+            return null;
+        }
+    };
+
+    @Test
+    void expire() throws InterruptedException {
+        AtomicLong time = new AtomicLong(System.currentTimeMillis());
+        Assignment soon = new Assignment("soon", new Date(time.get() + 200));
+        Assignment later = new Assignment("later", new Date(time.get() + 60 * 60 * 1000));
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(later);
+        tasks.add(soon);
+        TaskList taskList = new TaskList(tasks);
+        OverdueList overdueList = new OverdueList(new ArrayList<>());
+        PersistenceService persistence = new PersistenceService(storage);
+        DeadlineScheduler scheduler = new DeadlineScheduler(taskList, overdueList, persistence, time::get);
+
+        scheduler.expire();
+        persistence.lock();
+        assertEquals(2, TaskList.currentList().size());
+        assertEquals(0, OverdueList.getOverdueList().size());
+        persistence.unlock();
+
+        time.addAndGet(1000);
+        scheduler.expire();
+        persistence.lock();
+        // the expired task is overdue at once, but stays in the task list until it is shown again
+        assertEquals(true, soon.getOverdue());
+        assertEquals(1, OverdueList.getOverdueList().size());
+        assertSame(soon, OverdueList.getOverdueList().get(0));
+        assertEquals(2, TaskList.currentList().size());
+        scheduler.removeExpired();
+        assertEquals(1, TaskList.currentList().size());
+        assertSame(later, TaskList.currentList().get(0));
+        persistence.unlock();
+        scheduler.shutdown();
+        persistence.drain();
+    }
+
+    @Test
+    void expireBetweenListAndCommand() throws InterruptedException, RoomShareException {
+        AtomicLong time = new AtomicLong(System.currentTimeMillis());
+        Assignment soon = new Assignment("soon", new Date(time.get() + 200));
+        Assignment later = new Assignment("later", new Date(time.get() + 60 * 60 * 1000));
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(soon);
+        tasks.add(later);
+        TaskList taskList = new TaskList(tasks);
+        OverdueList overdueList = new OverdueList(new ArrayList<>());
+        PersistenceService persistence = new PersistenceService(storage);
+        DeadlineScheduler scheduler = new DeadlineScheduler(taskList, overdueList, persistence, time::get);
+        ListRoutine listRoutine = new ListRoutine(taskList, overdueList, scheduler);
+
+        persistence.lock();
+        listRoutine.list();
+        persistence.unlock();
+        // the first task expires while the user reads the listing
+        time.addAndGet(1000);
+        scheduler.expire();
+
+        persistence.lock();
+        assertSame(soon, OverdueList.getOverdueList().get(0));
+        // "done 2" still refers to the second task of the listing shown
+        taskList.done(new int[] {1});
+        assertEquals(true, later.getDone());
+        assertEquals(false, soon.getDone());
+        listRoutine.list();
+        assertEquals(1, TaskList.currentList().size());
+        assertSame(later, TaskList.currentList().get(0));
+        persistence.unlock();
+        scheduler.shutdown();
+        persistence.drain();
+    }
+}
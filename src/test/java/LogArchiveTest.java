@@ -0,0 +1,81 @@
+import CustomExceptions.RoomShareException;
+import Model_Classes.Assignment;
+import Model_Classes.Task;
+import Operations.LogArchive;
+import Operations.Storage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LogArchiveTest {
+    private static final long DAY = 24 * 60 * 60 * 1000;
+    private File directory;
+    private Storage storage = new Storage();
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("logs").toFile();
+    }
+
+    @AfterEach
+    void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private ArrayList<Task> snapshot(int size) {
+        ArrayList<Task> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(new Assignment("assignment " + i, new Date(1577000000000L)));
+        }
+        return list;
+    }
+
+    @Test
+    void getSnapshot() throws RoomShareException {
+        LogArchive archive = new LogArchive(storage, directory.getPath());
+        archive.append(snapshot(1), 1000);
+        archive.append(snapshot(2), 2000);
+        archive.append(snapshot(3), 3000);
+        assertEquals(2, archive.getSnapshot(2000).size());
+        assertEquals(2, archive.getSnapshot(2999).size());
+        assertEquals(3, archive.getSnapshot(5000).size());
+        assertThrows(RoomShareException.class, () -> archive.getSnapshot(999));
+
+        LogArchive reopened = new LogArchive(storage, directory.getPath());
+        assertEquals(3, reopened.getTimestamps().size());
+        assertEquals("assignment 1", reopened.getSnapshot(2500).get(1).getDescription());
+    }
+
+    @Test
+    void retention() throws RoomShareException {
+        // every snapshot starts a new segment, and segments older than a day are dropped
+        LogArchive archive = new LogArchive(storage, directory.getPath(), 1, Long.MAX_VALUE, DAY);
+        archive.append(snapshot(1), 0);
+        archive.append(snapshot(2), DAY / 2);
+        archive.append(snapshot(3), DAY * 2);
+        assertEquals(1, archive.getTimestamps().size());
+        assertEquals(3, archive.getSnapshot(DAY * 2).size());
+        assertEquals(false, new File(directory, "segment-0.gz").exists());
+
+        // segments are dropped until the archive fits its size limit
+        archive = new LogArchive(storage, directory.getPath(), 1, 1, Long.MAX_VALUE);
+        archive.append(snapshot(4), DAY * 3);
+        assertEquals(1, new LogArchive(storage, directory.getPath()).getTimestamps().size());
+        assertEquals(4, archive.getSnapshot(DAY * 3).size());
+    }
+}
@@ -4,6 +4,7 @@ import Enums.TimeUnit;
 import Model_Classes.Assignment;
 import Model_Classes.Leave;
 import Model_Classes.Meeting;
+import Model_Classes.Task;
 import Operations.OverdueList;
 import Operations.TaskList;
 import Operations.TempDeleteList;
@@ -91,4 +92,21 @@ class OverdueListTest {
         }
     }
 
+    @Test
+    void sweep() throws RoomShareException, ParseException {
+        overdueList.add(assignment1);
+        Assignment future = new Assignment("future", format.parse("22/12/2099 18:00"));
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(future);
+        tasks.add(new Assignment("assignment1", date1));
+        tasks.add(leave);
+        tasks.add(assignment2);
+        TaskList taskList = new TaskList(tasks);
+        taskList.sweepOverdue(overdueList);
+        assertEquals(1, TaskList.currentList().size());
+        assertSame(future, TaskList.get(0));
+        assertEquals(2, OverdueList.getOverdueList().size());
+        assertSame(assignment1, overdueList.get(0));
+        assertSame(assignment2, overdueList.get(1));
+    }
 }
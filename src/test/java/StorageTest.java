@@ -1,4 +1,5 @@
 import CustomExceptions.RoomShareException;
+import Enums.RecurrenceScheduleType;
 import Model_Classes.Assignment;
 import Model_Classes.Leave;
 import Model_Classes.Meeting;
@@ -6,12 +7,17 @@ import Model_Classes.Task;
 import Operations.Storage;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class StorageTest {
     private static SimpleDateFormat format = new SimpleDateFormat("dd/MM/yyyy HH:mm");
@@ -66,8 +72,159 @@ public class StorageTest {
         assertEquals("22/12/2019 18:00", storage.convertForStorage(ts1));
     }
 
+    @Test
+    void convertForStorageRecurring() throws RoomShareException {
+        Assignment recurring = new Assignment("recurring", date);
+        recurring.setRecurrenceSchedule(RecurrenceScheduleType.week);
+        assertEquals("22/12/2019 18:00", storage.convertForStorage(recurring));
+    }
+
+    @Test
+    void parseDate() throws RoomShareException {
+        assertEquals(date, Storage.parseDate("22/12/2019 18:00"));
+        assertEquals("29/02/2020 09:05", Storage.formatDate(Storage.parseDate("29/02/2020 09:05")));
+        assertThrows(RoomShareException.class, () -> Storage.parseDate("30/02/2020 09:05"));
+    }
+
     @Test
     void convertForStorageLeave() throws RoomShareException {
         assertEquals("22/12/2019 18:00-24/12/2019 18:00", storage.convertForStorageLeave(ts2));
     }
+
+    @Test
+    void journaledWriteFile() throws RoomShareException, IOException {
+        File file = File.createTempFile("journal", ".txt");
+        String fileName = file.getPath();
+        Storage journaled = new Storage(true);
+        al.add(ts);
+        al.add(ts1);
+        journaled.writeFile(al, fileName);
+        long snapshotLength = file.length();
+
+        ts1.setDone(true);
+        al.add(ts2);
+        journaled.writeFile(al, fileName);
+        File journal = new File(fileName + ".journal");
+        assertEquals(snapshotLength, file.length());
+        assertEquals(true, journal.exists());
+
+        ArrayList<Task> reloaded = new Storage(true).loadFile(fileName);
+        assertEquals(3, reloaded.size());
+        int doneCount = 0;
+        for (Task t : reloaded) {
+            if (t.getDone()) {
+                doneCount += 1;
+            }
+        }
+        assertEquals(1, doneCount);
+        journal.delete();
+        file.delete();
+        new File(fileName + ".bak").delete();
+    }
+
+    @Test
+    void writeFileSkipsUnmodifiedList() throws RoomShareException, IOException {
+        File file = File.createTempFile("skip", ".txt");
+        al.add(ts);
+        storage.writeFile(al, file.getPath(), 1);
+        storage.writeFile(al, file.getPath(), 1);
+        assertEquals(1, storage.getSkippedWrites());
+        al.add(ts1);
+        storage.writeFile(al, file.getPath(), 2);
+        assertEquals(1, storage.getSkippedWrites());
+        assertEquals(2, storage.loadFile(file.getPath()).size());
+        file.delete();
+        new File(file.getPath() + ".bak").delete();
+    }
+
+    @Test
+    void loadFileFallsBackToPreviousGeneration() throws RoomShareException, IOException {
+        File file = File.createTempFile("generation", ".txt");
+        File backup = new File(file.getPath() + ".bak");
+        al.add(ts);
+        storage.writeFile(al, file.getPath());
+        al.add(ts1);
+        storage.writeFile(al, file.getPath());
+        assertEquals(2, storage.loadFile(file.getPath()).size());
+
+        // corrupt the latest generation without touching its checksum line
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.seek(4);
+        raf.write('x');
+        raf.close();
+        assertEquals(1, storage.loadFile(file.getPath()).size());
+
+        file.delete();
+        assertEquals(1, storage.loadFile(file.getPath()).size());
+        backup.delete();
+        assertThrows(RoomShareException.class, () -> storage.loadFile(file.getPath()));
+    }
+
+    @Test
+    void loadFileStreamsTasksInOrder() throws RoomShareException {
+        ArrayList<Task> loaded = storage.loadFile("test.txt");
+        ArrayList<Task> streamed = new ArrayList<>();
+        storage.loadFile("test.txt", streamed::add);
+        assertEquals(loaded.size(), streamed.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(loaded.get(i).toString(), streamed.get(i).toString());
+        }
+    }
+
+    @Test
+    void loadLargeFileInOrder() throws RoomShareException, IOException {
+        File file = File.createTempFile("large", ".txt");
+        for (int i = 0; i < 20000; i++) {
+            al.add(new Assignment("assignment number " + i, date));
+        }
+        storage.writeFile(al, file.getPath());
+        Storage chunked = new Storage();
+        chunked.setParallelThreshold(0);
+        for (Storage loader : new Storage[] {storage, chunked}) {
+            ArrayList<Task> loaded = loader.loadFile(file.getPath());
+            assertEquals(al.size(), loaded.size());
+            for (int i = 0; i < al.size(); i++) {
+                assertEquals("assignment number " + i, loaded.get(i).getDescription());
+            }
+        }
+
+        // a malformed line in the middle of a file without a checksum line fails the whole load
+        ArrayList<String> lines = new ArrayList<>(Files.readAllLines(file.toPath()));
+        lines.remove(lines.size() - 1);
+        lines.add(lines.size() / 2, "A#n#low#broken#22/12/2019 18:00#never#user#N#0#unDefined##");
+        Files.write(file.toPath(), lines);
+        assertThrows(RoomShareException.class, () -> new Storage().loadFile(file.getPath()));
+        assertThrows(RoomShareException.class, () -> chunked.loadFile(file.getPath()));
+        file.delete();
+        new File(file.getPath() + ".bak").delete();
+    }
+
+    @Test
+    void journaledWriteFileById() throws RoomShareException, IOException {
+        File file = File.createTempFile("journal", ".txt");
+        String fileName = file.getPath();
+        Storage journaled = new Storage(true);
+        al.add(ts);
+        al.add(ts1);
+        al.add(ts2);
+        journaled.writeFile(al, fileName);
+
+        // update the first task in place, tombstone the second and insert a new one
+        ts.setDescription("renamed");
+        al.remove(ts1);
+        Meeting inserted = new Meeting("inserted", date);
+        al.add(inserted);
+        journaled.writeFile(al, fileName);
+        assertEquals(3, Files.readAllLines(new File(fileName + ".journal").toPath()).size() - 1);
+
+        ArrayList<Task> reloaded = new Storage(true).loadFile(fileName);
+        assertEquals(3, reloaded.size());
+        assertEquals("renamed", reloaded.get(0).getDescription());
+        assertEquals(ts.getId(), reloaded.get(0).getId());
+        assertEquals(ts2.getId(), reloaded.get(1).getId());
+        assertEquals(inserted.getId(), reloaded.get(2).getId());
+        new File(fileName + ".journal").delete();
+        file.delete();
+        new File(fileName + ".bak").delete();
+    }
 }
@@ -1,16 +1,26 @@
 import CustomExceptions.RoomShareException;
 import Enums.Priority;
+import Enums.SortType;
 import Enums.TimeUnit;
 import Model_Classes.Assignment;
+import Model_Classes.Leave;
+import Model_Classes.Meeting;
+import Model_Classes.Task;
+import Operations.CheckAnomaly;
 import Operations.TaskList;
+import Operations.TempDeleteList;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 class TaskListTest {
     private  SimpleDateFormat format = new SimpleDateFormat("dd/MM/yyyy HH:mm");
@@ -35,6 +45,11 @@ class TaskListTest {
     private Assignment assignment4 = new Assignment("as2", date4);
     private TaskList taskList = new TaskList(new ArrayList<>());
 
+    @AfterEach
+    void resetSort() {
+        TaskList.changeSort(SortType.priority);
+    }
+
     @Test
     void add() {
         taskList.add(assignment1);
@@ -51,6 +66,41 @@ class TaskListTest {
         }
     }
 
+    @Test
+    void modificationCount() {
+        long count = TaskList.getModificationCount();
+        taskList.add(assignment1);
+        assertEquals(true, TaskList.getModificationCount() > count);
+        count = TaskList.getModificationCount();
+        taskList.find("task");
+        assertEquals(count, TaskList.getModificationCount());
+    }
+
+    @Test
+    void getById() {
+        taskList.add(assignment1);
+        taskList.add(assignment2);
+        assertEquals(assignment2, TaskList.getById(assignment2.getId()));
+        taskList.add(assignment3);
+        assertEquals(assignment3, TaskList.getById(assignment3.getId()));
+        assertEquals(null, TaskList.getById(assignment4.getId()));
+    }
+
+    @Test
+    void listTagged() throws RoomShareException {
+        assignment1.setAssignee("alice");
+        assignment2.setAssignee("bob");
+        taskList.add(assignment1);
+        taskList.add(assignment2);
+        taskList.add(assignment3);
+        assignment4.setAssignee("alice");
+        assertEquals(assignment1.getAssigneeId(), assignment4.getAssigneeId());
+        int[] counts = taskList.listTagged("alice");
+        assertEquals(2, counts[0]);
+        counts = taskList.listTagged("nobody");
+        assertEquals(1, counts[0]);
+    }
+
     @Test
     void done() {
         taskList.add(assignment1);
@@ -77,6 +127,45 @@ class TaskListTest {
         }
     }
 
+    @Test
+    void search() throws RoomShareException {
+        assignment1.setAssignee("alice");
+        taskList.add(assignment1);
+        taskList.add(assignment2);
+        taskList.add(new Meeting("weekly house meeting", date1));
+        assertEquals(2, taskList.search("TASK").size());
+        assertEquals(1, taskList.search("tas ali").size());
+        assertEquals(assignment1, taskList.search("tas ali").get(0));
+        assertEquals(0, taskList.search("ask").size());
+        assertEquals(1, taskList.search("meeting house").size());
+
+        taskList.setPriority(new String[]{"3", "high"});
+        assertEquals(1, taskList.search("meeting").size());
+        taskList.delete(new int[]{0}, new TempDeleteList(new ArrayList<>()));
+        assertEquals(0, taskList.search("meeting").size());
+        assertEquals(2, taskList.search("task").size());
+        assertEquals(2, taskList.search(" ").size());
+    }
+
+    @Test
+    void searchFuzzy() {
+        Assignment laundry = new Assignment("do the laundry", date1);
+        Assignment groceries = new Assignment("buy groceries", date2);
+        Assignment urgentLaundry = new Assignment("fold laundry", date3);
+        urgentLaundry.setPriority(Priority.high);
+        taskList.add(laundry);
+        taskList.add(groceries);
+        taskList.add(urgentLaundry);
+        assertEquals(0, taskList.search("londry").size());
+        ArrayList<Task> results = taskList.searchFuzzy("londry", 10);
+        assertEquals(2, results.size());
+        assertEquals(urgentLaundry, results.get(0));
+        assertEquals(laundry, results.get(1));
+        assertEquals(1, taskList.searchFuzzy("londry", 1).size());
+        assertEquals(groceries, taskList.searchFuzzy("grocerys", 10).get(0));
+        assertEquals(0, taskList.searchFuzzy("xyz", 10).size());
+    }
+
     @Test
     void setPriority() {
         taskList.add(assignment1);
@@ -89,6 +178,85 @@ class TaskListTest {
         }
     }
 
+    @Test
+    void sortedOrder() throws RoomShareException {
+        TaskList.changeSort(SortType.priority);
+        assignment1.setPriority(Priority.low);
+        assignment2.setPriority(Priority.high);
+        assignment3.setPriority(Priority.medium);
+        taskList.add(assignment1);
+        taskList.add(assignment2);
+        taskList.add(assignment3);
+        assertEquals(assignment2, TaskList.get(0));
+        assertEquals(assignment3, TaskList.get(1));
+        assertEquals(assignment1, TaskList.get(2));
+
+        // tasks of equal priority are in the order they were added in, as in a full sort
+        taskList.setPriority(new String[]{"3", "high"});
+        assertEquals(assignment1, TaskList.get(0));
+        assertEquals(assignment2, TaskList.get(1));
+        assertEquals(assignment3, TaskList.get(2));
+
+        TaskList.changeSort(SortType.alphabetical);
+        assertEquals(assignment3, TaskList.get(0));
+        assertEquals(assignment1, TaskList.get(1));
+        assertEquals(assignment2, TaskList.get(2));
+        taskList.add(assignment4);
+        assertEquals(assignment4, TaskList.get(1));
+    }
+
+    @Test
+    void sortViews() throws RoomShareException {
+        TaskList.changeSort(SortType.priority);
+        assignment1.setPriority(Priority.low);
+        assignment2.setPriority(Priority.high);
+        assignment3.setPriority(Priority.medium);
+        taskList.add(assignment1);
+        taskList.add(assignment2);
+        TaskList.changeSort(SortType.alphabetical);
+        taskList.add(assignment3);
+        TaskList.changeSort(SortType.priority);
+        assertEquals(assignment2, TaskList.get(0));
+        assertEquals(assignment3, TaskList.get(1));
+        assertEquals(assignment1, TaskList.get(2));
+        assertEquals(assignment1, TaskList.currentList().get(0));
+        assertEquals(assignment2, TaskList.currentList().get(1));
+        assertEquals(assignment3, TaskList.currentList().get(2));
+    }
+
+    @Test
+    void deadlineOrder() throws RoomShareException {
+        Random random = new Random(2019);
+        long yearInMillis = 365L * 24 * 60 * 60 * 1000;
+        Comparator<Task> byDeadline = Comparator.comparing(Task::getDone)
+                .thenComparingLong(task -> task.getDate().getTime());
+        for (int round = 0; round < 50; round++) {
+            ArrayList<Task> tasks = new ArrayList<>();
+            int size = random.nextInt(200);
+            for (int i = 0; i < size; i++) {
+                // dates up to a century apart, with repeats to check that equal deadlines keep their order
+                long time = random.nextInt(4) == 0 && i > 0 ? tasks.get(random.nextInt(i)).getDate().getTime()
+                        : random.nextLong() % (100 * yearInMillis);
+                Assignment assignment = new Assignment("task" + i, new Date(time));
+                assignment.setDone(random.nextBoolean());
+                tasks.add(assignment);
+            }
+            ArrayList<Task> expected = new ArrayList<>(tasks);
+            expected.sort(byDeadline);
+
+            TaskList list = new TaskList(tasks);
+            TaskList.changeSort(SortType.deadline);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected.get(i), TaskList.get(i));
+            }
+
+            list.add(new Assignment("added", new Date(random.nextLong() % (100 * yearInMillis))));
+            for (int i = 1; i <= size; i++) {
+                assertEquals(true, byDeadline.compare(TaskList.get(i - 1), TaskList.get(i)) <= 0);
+            }
+        }
+    }
+
     @Test
     void reorder() {
         taskList.add(assignment1);
@@ -106,6 +274,94 @@ class TaskListTest {
         }
     }
 
+    @Test
+    void reorderKeepsViewsSorted() throws RoomShareException {
+        TaskList.changeSort(SortType.priority);
+        assignment1.setPriority(Priority.low);
+        assignment2.setPriority(Priority.medium);
+        assignment3.setPriority(Priority.high);
+        assignment4.setPriority(Priority.medium);
+        taskList.add(assignment1);
+        taskList.add(assignment2);
+        taskList.add(assignment3);
+
+        // tasks of different priorities stay in priority order, and new tasks are still placed by priority
+        taskList.reorder(0, 2);
+        taskList.add(assignment4);
+        assertEquals(assignment3, TaskList.get(0));
+        assertEquals(assignment2, TaskList.get(1));
+        assertEquals(assignment4, TaskList.get(2));
+        assertEquals(assignment1, TaskList.get(3));
+
+        // tasks of equal priority trade places, which is kept in the stored order
+        taskList.reorder(1, 2);
+        assertEquals(assignment4, TaskList.get(1));
+        assertEquals(assignment2, TaskList.get(2));
+        new TaskList(new ArrayList<>(TaskList.currentList()));
+        assertEquals(assignment3, TaskList.get(0));
+        assertEquals(assignment4, TaskList.get(1));
+        assertEquals(assignment2, TaskList.get(2));
+        assertEquals(assignment1, TaskList.get(3));
+    }
+
+    @Test
+    void viewsStayConsistentInEverySortType() throws RoomShareException, ParseException {
+        for (SortType sortType : SortType.values()) {
+            new TaskList(new ArrayList<>());
+            TaskList.changeSort(sortType);
+            taskList.add(new Meeting("m1", format.parse("23/12/2019 10:00"), 1, TimeUnit.hours));
+            taskList.add(new Assignment("a1", format.parse("23/12/2019 11:00")));
+            taskList.add(new Meeting("m2", format.parse("23/12/2019 12:00"), 1, TimeUnit.hours));
+            taskList.add(new Leave("l1", "kelly", format.parse("24/12/2019 10:00"),
+                    format.parse("25/12/2019 10:00")));
+            taskList.add(new Meeting("m3", format.parse("23/12/2019 09:00")));
+            taskList.add(new Leave("l2", "bob", format.parse("24/12/2019 10:00"),
+                    format.parse("26/12/2019 10:00")));
+            checkView(sortType);
+
+            int first = -1;
+            int second = -1;
+            for (int i = 0; i < TaskList.currentList().size(); i++) {
+                if (TaskList.get(i) instanceof Meeting) {
+                    second = first;
+                    first = i;
+                }
+            }
+            taskList.reorder(first, second);
+            checkView(sortType);
+            taskList.reorder(0, TaskList.currentList().size() - 1);
+            checkView(sortType);
+            taskList.replace(0, new Meeting("m4", format.parse("23/12/2019 15:00")));
+            checkView(sortType);
+            int undone = 0;
+            while (TaskList.get(undone) instanceof Leave) {
+                undone++;
+            }
+            taskList.done(new int[] {undone});
+            checkView(sortType);
+            taskList.add(new Meeting("m5", format.parse("23/12/2019 16:00")));
+            checkView(sortType);
+        }
+    }
+
+    /**
+     * Checks that the current sort view holds every task once, finds every task at its own position,
+     * and is in the same order as a view sorted again from the stored order.
+     */
+    private void checkView(SortType sortType) throws RoomShareException {
+        int size = TaskList.currentList().size();
+        ArrayList<Task> view = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            view.add(TaskList.get(i));
+            assertEquals(i, CheckAnomaly.checkDuplicate(TaskList.get(i)), sortType + " " + i);
+        }
+        new TaskList(new ArrayList<>(TaskList.currentList()));
+        TaskList.changeSort(sortType);
+        for (int i = 0; i < size; i++) {
+            assertEquals(view.get(i), TaskList.get(i), sortType + " " + i);
+        }
+    }
+
     @Test
     void replace() {
         taskList.add(assignment1);
@@ -133,4 +389,71 @@ class TaskListTest {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void clashIndexFollowsSortView() throws ParseException, RoomShareException {
+        taskList.add(new Meeting("b", format.parse("23/12/2019 10:00"), 1, TimeUnit.hours));
+        taskList.add(new Assignment("c", format.parse("23/12/2019 09:00")));
+        Meeting clash = new Meeting("a", format.parse("23/12/2019 14:00"), 1, TimeUnit.hours);
+        taskList.add(clash);
+        Meeting meeting = new Meeting("d", format.parse("23/12/2019 14:30"));
+        for (SortType sortType : SortType.values()) {
+            TaskList.changeSort(sortType);
+            assertEquals(clash, CheckAnomaly.findTimeClash(meeting), sortType.toString());
+            int expected = 0;
+            while (TaskList.get(expected) != clash) {
+                expected++;
+            }
+            assertEquals(expected, CheckAnomaly.checkTimeClash(meeting), sortType.toString());
+        }
+    }
+
+    @Test
+    void duplicateIndexFollowsSortView() throws ParseException, RoomShareException {
+        taskList.add(new Meeting("b", format.parse("23/12/2019 10:00"), 1, TimeUnit.hours));
+        taskList.add(new Assignment("c", date1));
+        Meeting original = new Meeting("a", format.parse("23/12/2019 14:00"), 1, TimeUnit.hours);
+        taskList.add(original);
+        Meeting duplicate = new Meeting("a", format.parse("23/12/2019 14:00"), 1, TimeUnit.hours);
+        for (SortType sortType : SortType.values()) {
+            TaskList.changeSort(sortType);
+            assertEquals(original, CheckAnomaly.findDuplicate(duplicate), sortType.toString());
+            int expected = 0;
+            while (TaskList.get(expected) != original) {
+                expected++;
+            }
+            assertEquals(expected, CheckAnomaly.checkDuplicate(duplicate), sortType.toString());
+        }
+    }
+
+    @Test
+    void zeroDurationClash() throws ParseException {
+        taskList.add(new Meeting("a", format.parse("23/12/2019 14:00"), 0, TimeUnit.minutes));
+        assertEquals(0, CheckAnomaly.checkTimeClash(
+                new Meeting("b", format.parse("23/12/2019 14:00"), 0, TimeUnit.minutes)));
+        assertEquals(0, CheckAnomaly.checkTimeClash(new Meeting("c", format.parse("23/12/2019 14:00"))));
+        assertEquals(0, CheckAnomaly.checkTimeClash(
+                new Meeting("d", format.parse("23/12/2019 13:30"), 1, TimeUnit.hours)));
+        assertEquals(-1, CheckAnomaly.checkTimeClash(
+                new Meeting("e", format.parse("23/12/2019 14:01"), 0, TimeUnit.minutes)));
+    }
+
+    @Test
+    void clashWithLeave() throws ParseException {
+        Leave leave = new Leave("trip", "kelly", format.parse("22/12/2019 09:00"), format.parse("24/12/2019 09:00"));
+        taskList.add(leave);
+        Meeting kellyMeeting = new Meeting("plan", format.parse("23/12/2019 10:00"), 1, TimeUnit.hours);
+        kellyMeeting.setAssignee("kelly");
+        Meeting bobMeeting = new Meeting("study", format.parse("23/12/2019 10:00"), 1, TimeUnit.hours);
+        bobMeeting.setAssignee("bob");
+        Meeting everyoneMeeting = new Meeting("house", format.parse("23/12/2019 12:00"));
+        assertEquals(0, CheckAnomaly.checkTimeClash(kellyMeeting));
+        assertEquals(-1, CheckAnomaly.checkTimeClash(bobMeeting));
+        assertEquals(0, CheckAnomaly.checkTimeClash(everyoneMeeting));
+        taskList.add(bobMeeting);
+        Meeting otherBobMeeting = new Meeting("gym", format.parse("23/12/2019 10:30"));
+        otherBobMeeting.setAssignee("bob");
+        assertEquals(-1, CheckAnomaly.checkTimeClash(new Meeting("late", format.parse("24/12/2019 10:00"))));
+        assertNotEquals(-1, CheckAnomaly.checkTimeClash(otherBobMeeting));
+    }
+}